@@ -0,0 +1,37 @@
+package com.sunless.app.benchmark;
+
+import com.sunless.app.dto.PostDTO;
+import com.sunless.app.dto.UserDTO;
+import com.sunless.app.mode.Post;
+import com.sunless.app.mode.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private User user;
+    private Post post;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.user(1);
+        post = Fixtures.post(1, user, 5, 3);
+    }
+
+    @Benchmark
+    public UserDTO userFromEntity() {
+        return UserDTO.fromEntity(user);
+    }
+
+    @Benchmark
+    public PostDTO postFromEntity() {
+        return PostDTO.fromEntity(post);
+    }
+}
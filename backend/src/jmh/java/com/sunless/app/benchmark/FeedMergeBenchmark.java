@@ -0,0 +1,59 @@
+package com.sunless.app.benchmark;
+
+import com.sunless.app.dto.PageResponse;
+import com.sunless.app.dto.PostDTO;
+import com.sunless.app.mode.Post;
+import com.sunless.app.mode.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory half of FeedService.getNewsFeed: merging the viewer into the followed-authors
+ * list and turning the fetched page of entities into the response envelope.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedMergeBenchmark {
+
+    @Param({"10", "500"})
+    private int followingCount;
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    private User viewer;
+    private List<User> following;
+    private Page<Post> fetchedPage;
+
+    @Setup
+    public void setUp() {
+        viewer = Fixtures.user(0);
+        following = new ArrayList<>(followingCount);
+        for (int i = 1; i <= followingCount; i++) {
+            following.add(Fixtures.user(i));
+        }
+        fetchedPage = new PageImpl<>(Fixtures.feedPage(pageSize), PageRequest.of(0, pageSize), 1_000);
+    }
+
+    @Benchmark
+    public List<User> mergeFeedAuthors() {
+        List<User> authors = new ArrayList<>(following);
+        authors.add(viewer);
+        return authors;
+    }
+
+    @Benchmark
+    public PageResponse<PostDTO> assembleFeedPage() {
+        return PageResponse.of(fetchedPage.map(PostDTO::fromEntity));
+    }
+}
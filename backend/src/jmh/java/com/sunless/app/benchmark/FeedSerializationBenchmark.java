@@ -0,0 +1,51 @@
+package com.sunless.app.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.sunless.app.dto.PageResponse;
+import com.sunless.app.dto.PostDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedSerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    @Param({"true", "false"})
+    private boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private PageResponse<PostDTO> feedPage;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Boot applies to the MVC message converter (JavaTimeModule, ISO dates)
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+
+        List<PostDTO> posts = Fixtures.feedPage(pageSize).stream()
+                .map(PostDTO::fromEntity)
+                .toList();
+        feedPage = PageResponse.of(new PageImpl<>(posts, PageRequest.of(0, pageSize), 1_000));
+    }
+
+    @Benchmark
+    public byte[] serializeFeedPage() throws Exception {
+        return objectMapper.writeValueAsBytes(feedPage);
+    }
+}
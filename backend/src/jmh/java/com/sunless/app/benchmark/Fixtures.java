@@ -0,0 +1,81 @@
+package com.sunless.app.benchmark;
+
+import com.sunless.app.mode.Comment;
+import com.sunless.app.mode.Like;
+import com.sunless.app.mode.Post;
+import com.sunless.app.mode.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like a typical feed page, built without a database.
+ */
+final class Fixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuvabcdefghijklmnopqrstuvwxyz01234");
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setBio("Bio of user " + id);
+        user.setProfilePictureUrl("/uploads/profile-pictures/" + id + ".jpg");
+        user.setCreatedAt(NOW.minusDays(id));
+        user.setLastLoginAt(NOW);
+        return user;
+    }
+
+    static Post post(long id, User author, int likes, int comments) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUser(author);
+        post.setContent("Post " + id + " with a few sentences of content to serialize. ".repeat(3));
+        post.setCreatedAt(NOW.minusMinutes(id));
+        post.setUpdatedAt(NOW.minusMinutes(id));
+        post.setImageUrl("/uploads/post-images/" + id + ".jpg");
+        post.setLikeCount(likes);
+        post.setCommentCount(comments);
+
+        List<Like> likeList = new ArrayList<>(likes);
+        for (int i = 0; i < likes; i++) {
+            Like like = new Like();
+            like.setId(id * 1_000 + i);
+            like.setUser(user(i + 100));
+            like.setPost(post);
+            like.setCreatedAt(NOW);
+            likeList.add(like);
+        }
+        post.setLikes(likeList);
+
+        List<Comment> commentList = new ArrayList<>(comments);
+        for (int i = 0; i < comments; i++) {
+            Comment comment = new Comment();
+            comment.setId(id * 1_000 + 500 + i);
+            comment.setUser(user(i + 200));
+            comment.setPost(post);
+            comment.setContent("Comment " + i);
+            comment.setCreatedAt(NOW);
+            comment.setUpdatedAt(NOW);
+            commentList.add(comment);
+        }
+        post.setComments(commentList);
+        return post;
+    }
+
+    static List<Post> feedPage(int size) {
+        List<Post> posts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            posts.add(post(i + 1, user(i % 5 + 1), 5, 3));
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,93 @@
+package com.sunless.app.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sunless.app.SocialmediaAppApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Tomcat on a bounded platform-thread pool with virtual threads by holding many JDBC-bound
+ * explore-feed requests in flight at once, one per benchmark thread. The virtual-thread case needs Java 21+.
+ * Run with {@code mvn -Pjmh verify -Djmh.args="ThreadModelBenchmark -t 1000"} and point
+ * {@code spring.datasource.*} at MySQL via {@code -jvmArgsAppend} for realistic DB latency.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(200)
+@State(Scope.Benchmark)
+public class ThreadModelBenchmark {
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"50"})
+    private int platformThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest exploreFeed;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21+");
+        }
+        context = new SpringApplicationBuilder(SocialmediaAppApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + platformThreads,
+                        "app.rate-limit.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String token = seed(baseUrl);
+        exploreFeed = HttpRequest.newBuilder(URI.create(baseUrl + "/api/feed/explore?size=20"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int exploreFeed() throws Exception {
+        HttpResponse<String> response = client.send(exploreFeed, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Explore feed answered " + response.statusCode());
+        }
+        return response.body().length();
+    }
+
+    private String seed(String baseUrl) throws Exception {
+        HttpResponse<String> registration = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"bench\",\"email\":\"bench@example.com\",\"password\":\"benchpass\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        String token = new ObjectMapper().readTree(registration.body()).path("token").asText();
+
+        for (int i = 0; i < 200; i++) {
+            client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/post"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"content\":\"benchmark post " + i + "\"}"))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+        }
+        return token;
+    }
+}
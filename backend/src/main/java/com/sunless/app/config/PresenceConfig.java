@@ -0,0 +1,83 @@
+package com.sunless.app.config;
+
+import com.sunless.app.mode.User;
+import com.sunless.app.presence.PresenceTracker;
+import com.sunless.app.presence.PresenceWebSocketHandler;
+import com.sunless.app.security.JwtTokenProvider;
+import com.sunless.app.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+@EnableWebSocket
+public class PresenceConfig implements WebSocketConfigurer {
+
+    @Value("${app.presence.timeout:PT60S}")
+    private Duration timeout;
+
+    @Value("${app.presence.tick:PT1S}")
+    private Duration tick;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean
+    public PresenceTracker presenceTracker() {
+        PresenceTracker tracker = new PresenceTracker(timeout, tick, System::currentTimeMillis);
+        meterRegistry.gauge("app.presence.online", tracker, PresenceTracker::onlineCount);
+        return tracker;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(new PresenceWebSocketHandler(presenceTracker()), "/ws/presence")
+                .addInterceptors(new JwtHandshakeInterceptor())
+                .setAllowedOriginPatterns("*");
+    }
+
+    // Browsers cannot set headers on a WebSocket handshake, so the JWT comes in as ?token=
+    private class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            String token = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("token");
+            if (token == null || !jwtTokenProvider.validateToken(token)) {
+                return false;
+            }
+            Long userId = userService.findByUsername(jwtTokenProvider.getUsernameFromJWT(token))
+                    .map(User::getId)
+                    .orElse(null);
+            if (userId == null) {
+                return false;
+            }
+            attributes.put(PresenceWebSocketHandler.USER_ID_ATTRIBUTE, userId);
+            return true;
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    }
+}
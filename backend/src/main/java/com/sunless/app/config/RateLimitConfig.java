@@ -0,0 +1,61 @@
+package com.sunless.app.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sunless.app.ratelimit.WriteRateLimitFilter;
+import com.sunless.app.ratelimit.WriteRateLimitFilter.Route;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.max-tracked-buckets:100000}")
+    private int maxTrackedBuckets;
+
+    @Value("${app.rate-limit.like.capacity:30}")
+    private int likeCapacity;
+
+    @Value("${app.rate-limit.like.period:PT1M}")
+    private Duration likePeriod;
+
+    @Value("${app.rate-limit.comment.capacity:10}")
+    private int commentCapacity;
+
+    @Value("${app.rate-limit.comment.period:PT1M}")
+    private Duration commentPeriod;
+
+    @Value("${app.rate-limit.message.capacity:20}")
+    private int messageCapacity;
+
+    @Value("${app.rate-limit.message.period:PT1M}")
+    private Duration messagePeriod;
+
+    @Bean
+    public WriteRateLimitFilter writeRateLimitFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        // Like and unlike share one bucket so toggling cannot double the rate
+        List<Route> routes = enabled ? List.of(
+                new Route("like", "POST", "/api/like/post/*", likeCapacity, likePeriod),
+                new Route("like", "DELETE", "/api/like/post/*", likeCapacity, likePeriod),
+                new Route("comment", "POST", "/api/comment/post/*", commentCapacity, commentPeriod),
+                new Route("message", "POST", "/api/messages/send", messageCapacity, messagePeriod))
+                : List.of();
+        return new WriteRateLimitFilter(routes, maxTrackedBuckets, objectMapper, meterRegistry, System::nanoTime);
+    }
+
+    // Runs inside the security chain (after the JWT filter), not as a standalone servlet filter
+    @Bean
+    public FilterRegistrationBean<WriteRateLimitFilter> writeRateLimitFilterRegistration(WriteRateLimitFilter filter) {
+        FilterRegistrationBean<WriteRateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
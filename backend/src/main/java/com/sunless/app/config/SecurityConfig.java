@@ -1,10 +1,16 @@
 package com.sunless.app.config;
 
+import com.sunless.app.presence.PresenceFilter;
+import com.sunless.app.presence.PresenceTracker;
+import com.sunless.app.ratelimit.WriteRateLimitFilter;
+import com.sunless.app.security.BoundedPasswordEncoder;
 import com.sunless.app.security.JwtAuthenticationEntryPoint;
 import com.sunless.app.security.JwtAuthenticationFilter;
 import com.sunless.app.security.JwtTokenProvider;
 import com.sunless.app.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,6 +27,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -34,9 +41,27 @@ public class SecurityConfig {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Autowired
+    private WriteRateLimitFilter writeRateLimitFilter;
+
+    @Value("${app.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${app.password.threads:0}")
+    private int passwordThreads;
+
+    @Value("${app.password.queue-capacity:64}")
+    private int passwordQueueCapacity;
+
+    @Value("${app.password.max-wait:PT2S}")
+    private Duration passwordMaxWait;
+
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        // By default bcrypt gets at most half the cores
+        int threads = passwordThreads > 0 ? passwordThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), threads,
+                passwordQueueCapacity, passwordMaxWait, meterRegistry);
     }
 
     @Bean
@@ -50,7 +75,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, UserService userService) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, UserService userService,
+                                           PresenceTracker presenceTracker) throws Exception {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
@@ -59,11 +85,16 @@ public class SecurityConfig {
                 auth.requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/api/public/**").permitAll()
                     .requestMatchers("/uploads/**").permitAll()
-                    .requestMatchers("/actuator/**").permitAll()
+                    // Metrics expose cache, pool, latency and rate-limit internals, so only these stay open
+                    .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                    // The presence socket checks its own ?token= during the handshake
+                    .requestMatchers("/ws/**").permitAll()
                     .anyRequest().authenticated()
             );
 
         http.addFilterBefore(jwtAuthenticationFilter(userService), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(writeRateLimitFilter, JwtAuthenticationFilter.class);
+        http.addFilterAfter(new PresenceFilter(presenceTracker, userService), WriteRateLimitFilter.class);
         return http.build();
     }
 
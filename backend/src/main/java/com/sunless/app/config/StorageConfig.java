@@ -0,0 +1,67 @@
+package com.sunless.app.config;
+
+import com.sunless.app.storage.LocalStorageBackend;
+import com.sunless.app.storage.S3StorageBackend;
+import com.sunless.app.storage.StorageBackend;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.backend", havingValue = "local", matchIfMissing = true)
+    public StorageBackend localStorageBackend(@Value("${app.upload.dir:uploads}") String uploadDir) {
+        return new LocalStorageBackend(uploadDir);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.backend", havingValue = "s3")
+    public StorageBackend s3StorageBackend(@Value("${app.storage.s3.endpoint:}") String endpoint,
+                                           @Value("${app.storage.s3.region:us-east-1}") String region,
+                                           @Value("${app.storage.s3.bucket}") String bucket,
+                                           @Value("${app.storage.s3.access-key}") String accessKey,
+                                           @Value("${app.storage.s3.secret-key}") String secretKey,
+                                           @Value("${app.storage.s3.path-style-access:true}") boolean pathStyleAccess,
+                                           @Value("${app.storage.s3.public-url:}") String publicUrl) {
+        StaticCredentialsProvider credentials =
+                StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        S3Configuration s3Configuration = S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess)
+                .build();
+
+        S3ClientBuilder clientBuilder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Configuration);
+        S3Presigner.Builder presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Configuration);
+
+        // A custom endpoint points the client at MinIO or another S3-compatible stand-in
+        if (!endpoint.isBlank()) {
+            clientBuilder.endpointOverride(URI.create(endpoint));
+            presignerBuilder.endpointOverride(URI.create(endpoint));
+        }
+
+        if (publicUrl.isBlank()) {
+            publicUrl = endpoint.isBlank()
+                    ? "https://" + bucket + ".s3." + region + ".amazonaws.com"
+                    : endpoint + "/" + bucket;
+        }
+
+        return new S3StorageBackend(clientBuilder.build(), presignerBuilder.build(), bucket, publicUrl);
+    }
+}
@@ -1,21 +1,28 @@
 package com.sunless.app.controller;
 
+import com.sunless.app.dto.ApiResponse;
+import com.sunless.app.dto.AuthResponse;
+import com.sunless.app.dto.ErrorResponse;
 import com.sunless.app.dto.LoginRequest;
 import com.sunless.app.dto.RegisterRequest;
 import com.sunless.app.dto.UserResponse;
 import com.sunless.app.mode.User;
 import com.sunless.app.security.JwtTokenProvider;
+import com.sunless.app.security.PasswordHashingOverloadedException;
 import com.sunless.app.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -44,26 +51,18 @@ public class AuthController {
             User savedUser = userService.registerUser(user);
             UserResponse userResponse = createUserResponse(savedUser);
             
-            // Generate JWT token for auto-login after registration
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+            // Auto-login after registration; the password was just hashed, so skip a second bcrypt round
+            Authentication authentication = new UsernamePasswordAuthenticationToken(
+                savedUser.getUsername(), null, AuthorityUtils.createAuthorityList("ROLE_USER")
             );
             String jwt = tokenProvider.generateToken(authentication);
             userService.updateLastLogin(savedUser.getId());
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Registration successful");
-            response.put("token", jwt);
-            response.put("type", "Bearer");
-            response.put("user", userResponse);
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(AuthResponse.of("Registration successful", jwt, userResponse));
+        } catch (PasswordHashingOverloadedException e) {
+            return overloaded(e);
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -80,20 +79,30 @@ public class AuthController {
             User user = userService.findByUsername(request.getUsername()).orElseThrow();
             userService.updateLastLogin(user.getId());
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Login successful");
-            response.put("token", jwt);
-            response.put("type", "Bearer");
-            response.put("user", createUserResponse(user));
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(AuthResponse.of("Login successful", jwt, createUserResponse(user)));
+        } catch (PasswordHashingOverloadedException e) {
+            return overloaded(e);
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", "Invalid username or password");
-            return ResponseEntity.status(401).body(error);
+            return ResponseEntity.status(401).body(ErrorResponse.of("Invalid username or password"));
+        }
+    }
+
+    // Called as the sign-up form is typed into; a name nobody has is answered without a query. Advisory only:
+    // a name taken on another node in the last refresh interval can still read as available
+    @GetMapping("/availability")
+    public ResponseEntity<?> checkAvailability(@RequestParam(required = false) String username,
+                                               @RequestParam(required = false) String email) {
+        Map<String, Boolean> available = new LinkedHashMap<>();
+        if (username != null && !username.isBlank()) {
+            available.put("username", userService.isUsernameAvailable(username));
+        }
+        if (email != null && !email.isBlank()) {
+            available.put("email", userService.isEmailAvailable(email));
+        }
+        if (available.isEmpty()) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of("username or email is required"));
         }
+        return ResponseEntity.ok(ApiResponse.of(available));
     }
 
     @GetMapping("/me")
@@ -103,19 +112,18 @@ public class AuthController {
             String username = authentication.getName();
             User user = userService.findByUsername(username).orElseThrow();
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("user", createUserResponse(user));
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(AuthResponse.of(createUserResponse(user)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", "User not found");
-            return ResponseEntity.status(404).body(error);
+            return ResponseEntity.status(404).body(ErrorResponse.of("User not found"));
         }
     }
 
+    private ResponseEntity<ErrorResponse> overloaded(PasswordHashingOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(PasswordHashingOverloadedException.RETRY_AFTER_SECONDS))
+                .body(ErrorResponse.of(e.getMessage()));
+    }
+
     private UserResponse createUserResponse(User user) {
         UserResponse response = new UserResponse();
         response.setId(user.getId());
@@ -1,5 +1,8 @@
 package com.sunless.app.controller;
 
+import com.sunless.app.dto.ApiResponse;
+import com.sunless.app.dto.CommentDTO;
+import com.sunless.app.dto.ErrorResponse;
 import com.sunless.app.mode.Comment;
 import com.sunless.app.mode.User;
 import com.sunless.app.service.CommentService;
@@ -9,7 +12,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -37,34 +39,19 @@ public class CommentController {
             
             Comment comment = commentService.createComment(currentUser.getId(), postId, content, parentCommentId);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Comment created successfully");
-            response.put("data", comment);
-            response.put("commentCount", commentService.getCommentCount(postId));
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of("Comment created successfully", comment));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
     @GetMapping("/post/{postId}")
     public ResponseEntity<?> getCommentsByPost(@PathVariable Long postId) {
         try {
-            List<Comment> comments = commentService.getCommentsByPost(postId);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", comments);
-            return ResponseEntity.ok(response);
+            List<CommentDTO> comments = commentService.getCommentsByPost(postId);
+            return ResponseEntity.ok(ApiResponse.of(comments));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -72,15 +59,9 @@ public class CommentController {
     public ResponseEntity<?> getRepliesToComment(@PathVariable Long commentId) {
         try {
             List<Comment> replies = commentService.getRepliesToComment(commentId);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", replies);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(replies));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -95,17 +76,9 @@ public class CommentController {
             String content = request.get("content");
             Comment updatedComment = commentService.updateComment(currentUser.getId(), commentId, content);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Comment updated successfully");
-            response.put("data", updatedComment);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of("Comment updated successfully", updatedComment));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -117,17 +90,9 @@ public class CommentController {
             
             boolean deleted = commentService.deleteComment(currentUser.getId(), commentId);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", deleted);
-            response.put("message", "Comment deleted successfully");
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of("Comment deleted successfully", deleted));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 }
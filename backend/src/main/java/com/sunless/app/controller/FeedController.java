@@ -1,15 +1,16 @@
 package com.sunless.app.controller;
 
+import com.sunless.app.dto.ErrorResponse;
+import com.sunless.app.dto.PageResponse;
 import com.sunless.app.dto.PostDTO;
+import com.sunless.app.service.ETags;
 import com.sunless.app.service.FeedService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.HashMap;
-import java.util.Map;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/feed")
@@ -21,126 +22,98 @@ public class FeedController {
     @GetMapping("/news")
     public ResponseEntity<?> getNewsFeed(@RequestParam(defaultValue = "0") int page,
                                        @RequestParam(defaultValue = "10") int size,
-                                       Authentication authentication) {
+                                       Authentication authentication,
+                                       WebRequest webRequest) {
         try {
             String currentUsername = authentication.getName();
             Long userId = feedService.getCurrentUserId(currentUsername);
+
+            if (webRequest.checkNotModified(feedService.getNewsFeedETag(userId, page, size))) {
+                return null;
+            }
             
             Page<PostDTO> posts = feedService.getNewsFeed(userId, page, size);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("content", posts.getContent());
-            response.put("currentPage", posts.getNumber());
-            response.put("totalPages", posts.getTotalPages());
-            response.put("totalElements", posts.getTotalElements());
-            response.put("hasNext", posts.hasNext());
-            response.put("hasPrevious", posts.hasPrevious());
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(ETags.REVALIDATE).body(PageResponse.of(posts));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
     @GetMapping("/explore")
     public ResponseEntity<?> getExploreFeed(@RequestParam(defaultValue = "0") int page,
-                                          @RequestParam(defaultValue = "10") int size) {
+                                          @RequestParam(defaultValue = "10") int size,
+                                          Authentication authentication,
+                                          WebRequest webRequest) {
         try {
-            Page<PostDTO> posts = feedService.getExploreFeed(page, size);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("content", posts.getContent());
-            response.put("currentPage", posts.getNumber());
-            response.put("totalPages", posts.getTotalPages());
-            response.put("totalElements", posts.getTotalElements());
-            response.put("hasNext", posts.hasNext());
-            response.put("hasPrevious", posts.hasPrevious());
+            Long viewerId = viewerId(authentication);
+            if (webRequest.checkNotModified(feedService.getExploreFeedETag(page, size, viewerId))) {
+                return null;
+            }
+
+            Page<PostDTO> posts = feedService.getExploreFeed(page, size, viewerId);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(ETags.REVALIDATE).body(PageResponse.of(posts));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
     @GetMapping("/trending")
     public ResponseEntity<?> getTrendingPosts(@RequestParam(defaultValue = "0") int page,
-                                            @RequestParam(defaultValue = "10") int size) {
+                                            @RequestParam(defaultValue = "10") int size,
+                                            Authentication authentication,
+                                            WebRequest webRequest) {
         try {
-            Page<PostDTO> posts = feedService.getTrendingPosts(page, size);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("content", posts.getContent());
-            response.put("currentPage", posts.getNumber());
-            response.put("totalPages", posts.getTotalPages());
-            response.put("totalElements", posts.getTotalElements());
-            response.put("hasNext", posts.hasNext());
-            response.put("hasPrevious", posts.hasPrevious());
+            Long viewerId = viewerId(authentication);
+            if (webRequest.checkNotModified(feedService.getTrendingPostsETag(page, size, viewerId))) {
+                return null;
+            }
+
+            Page<PostDTO> posts = feedService.getTrendingPosts(page, size, viewerId);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(ETags.REVALIDATE).body(PageResponse.of(posts));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<?> getPostsByUser(@PathVariable Long userId,
                                           @RequestParam(defaultValue = "0") int page,
-                                          @RequestParam(defaultValue = "10") int size) {
+                                          @RequestParam(defaultValue = "10") int size,
+                                          Authentication authentication,
+                                          WebRequest webRequest) {
         try {
-            Page<PostDTO> posts = feedService.getPostsByUser(userId, page, size);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("content", posts.getContent());
-            response.put("currentPage", posts.getNumber());
-            response.put("totalPages", posts.getTotalPages());
-            response.put("totalElements", posts.getTotalElements());
-            response.put("hasNext", posts.hasNext());
-            response.put("hasPrevious", posts.hasPrevious());
+            Long viewerId = viewerId(authentication);
+            String etag = feedService.getPostsByUserETag(userId, page, size, viewerId);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
+            Page<PostDTO> posts = feedService.getPostsByUser(userId, page, size, viewerId);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(ETags.REVALIDATE).body(PageResponse.of(posts));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
     @GetMapping("/search")
     public ResponseEntity<?> searchPosts(@RequestParam String query,
                                        @RequestParam(defaultValue = "0") int page,
-                                       @RequestParam(defaultValue = "10") int size) {
+                                       @RequestParam(defaultValue = "10") int size,
+                                       Authentication authentication) {
         try {
-            Page<PostDTO> posts = feedService.searchPosts(query, page, size);
+            Page<PostDTO> posts = feedService.searchPosts(query, page, size, viewerId(authentication));
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("content", posts.getContent());
-            response.put("currentPage", posts.getNumber());
-            response.put("totalPages", posts.getTotalPages());
-            response.put("totalElements", posts.getTotalElements());
-            response.put("hasNext", posts.hasNext());
-            response.put("hasPrevious", posts.hasPrevious());
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(PageResponse.of(posts));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
+
+    private Long viewerId(Authentication authentication) {
+        return authentication == null ? null : feedService.getCurrentUserId(authentication.getName());
+    }
 }
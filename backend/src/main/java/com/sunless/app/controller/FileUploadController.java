@@ -1,16 +1,19 @@
 package com.sunless.app.controller;
 
+import com.sunless.app.dto.ApiResponse;
+import com.sunless.app.dto.ErrorResponse;
 import com.sunless.app.mode.User;
 import com.sunless.app.service.FileStorageService;
 import com.sunless.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/upload")
@@ -30,29 +33,18 @@ public class FileUploadController {
             User currentUser = userService.findByUsername(currentUsername).orElseThrow();
             
             if (file.isEmpty()) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("error", "File is empty");
-                return ResponseEntity.badRequest().body(error);
+                return ResponseEntity.badRequest().body(ErrorResponse.of("File is empty"));
             }
 
             String fileName = fileStorageService.storeFile(file, "profile-pictures");
-            String fileUrl = "/uploads/" + fileName;
+            String fileUrl = fileStorageService.getFileUrl(fileName);
             
             currentUser.setProfilePictureUrl(fileUrl);
             userService.updateUser(currentUser);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Profile picture uploaded successfully");
-            response.put("data", Map.of("fileUrl", fileUrl));
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of("Profile picture uploaded successfully", Map.of("fileUrl", fileUrl)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -64,29 +56,18 @@ public class FileUploadController {
             User currentUser = userService.findByUsername(currentUsername).orElseThrow();
             
             if (file.isEmpty()) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("error", "File is empty");
-                return ResponseEntity.badRequest().body(error);
+                return ResponseEntity.badRequest().body(ErrorResponse.of("File is empty"));
             }
 
             String fileName = fileStorageService.storeFile(file, "cover-pictures");
-            String fileUrl = "/uploads/" + fileName;
+            String fileUrl = fileStorageService.getFileUrl(fileName);
             
             currentUser.setCoverPictureUrl(fileUrl);
             userService.updateUser(currentUser);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Cover picture uploaded successfully");
-            response.put("data", Map.of("fileUrl", fileUrl));
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of("Cover picture uploaded successfully", Map.of("fileUrl", fileUrl)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -94,26 +75,48 @@ public class FileUploadController {
     public ResponseEntity<?> uploadPostImage(@RequestParam("file") MultipartFile file) {
         try {
             if (file.isEmpty()) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("error", "File is empty");
-                return ResponseEntity.badRequest().body(error);
+                return ResponseEntity.badRequest().body(ErrorResponse.of("File is empty"));
             }
 
             String fileName = fileStorageService.storeFile(file, "post-images");
-            String fileUrl = "/uploads/" + fileName;
+            String fileUrl = fileStorageService.getFileUrl(fileName);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Image uploaded successfully");
-            response.put("data", Map.of("fileUrl", fileUrl));
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of("Image uploaded successfully", Map.of("fileUrl", fileUrl)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/post-image/presign")
+    public ResponseEntity<?> presignPostImageUpload(@RequestBody Map<String, String> request) {
+        try {
+            String contentType = request.get("contentType");
+            if (contentType == null || !contentType.startsWith("image/")) {
+                return ResponseEntity.badRequest().body(ErrorResponse.of("Only image uploads are allowed"));
+            }
+
+            String size = request.get("size");
+            if (size == null) {
+                return ResponseEntity.badRequest().body(ErrorResponse.of("File size is required"));
+            }
+
+            Optional<FileStorageService.DirectUpload> direct = fileStorageService.createDirectUpload(
+                    "post-images", request.get("fileName"), contentType, Long.parseLong(size));
+            if (direct.isEmpty()) {
+                // Tells the client to fall back to the multipart endpoint
+                return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
+                        .body(ErrorResponse.of("Direct uploads are not supported by the storage backend"));
+            }
+
+            FileStorageService.DirectUpload upload = direct.get();
+            return ResponseEntity.ok(ApiResponse.of(Map.of(
+                "uploadUrl", upload.uploadUrl(),
+                "method", upload.method(),
+                "fileUrl", upload.fileUrl(),
+                "expiresAt", upload.expiresAt()
+            )));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 }
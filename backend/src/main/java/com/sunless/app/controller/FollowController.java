@@ -1,17 +1,21 @@
 package com.sunless.app.controller;
 
+import com.sunless.app.dto.ApiResponse;
+import com.sunless.app.dto.ErrorResponse;
 import com.sunless.app.dto.UserResponse;
 import com.sunless.app.mode.User;
 import com.sunless.app.service.FollowService;
 import com.sunless.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/follow")
@@ -23,6 +27,9 @@ public class FollowController {
     @Autowired
     private UserService userService;
 
+    @Value("${app.viewer-state.max-ids:100}")
+    private int maxStatusIds;
+
     @PostMapping("/{userId}")
     public ResponseEntity<?> followUser(@PathVariable Long userId, Authentication authentication) {
         try {
@@ -31,17 +38,9 @@ public class FollowController {
             
             boolean followed = followService.followUser(currentUser.getId(), userId);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", Map.of("success", followed));
-            response.put("message", followed ? "Successfully followed user" : "Already following this user");
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(followed ? "Successfully followed user" : "Already following this user", Map.of("success", followed)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -53,17 +52,9 @@ public class FollowController {
             
             boolean unfollowed = followService.unfollowUser(currentUser.getId(), userId);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", Map.of("success", unfollowed));
-            response.put("message", "Successfully unfollowed user");
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of("Successfully unfollowed user", Map.of("success", unfollowed)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -74,15 +65,9 @@ public class FollowController {
             List<UserResponse> userResponses = followers.stream()
                     .map(this::createUserResponse)
                     .toList();
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", userResponses);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(userResponses));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -93,15 +78,29 @@ public class FollowController {
             List<UserResponse> userResponses = following.stream()
                     .map(this::createUserResponse)
                     .toList();
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", userResponses);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(userResponses));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
+        }
+    }
+
+    // Following flags for a batch of users (e.g. ?userIds=1,2,3) in one query
+    @GetMapping("/status")
+    public ResponseEntity<?> getFollowStatuses(@RequestParam List<Long> userIds, Authentication authentication) {
+        try {
+            if (userIds.size() > maxStatusIds) {
+                return ResponseEntity.badRequest().body(ErrorResponse.of("At most " + maxStatusIds + " user ids per request"));
+            }
+            String currentUsername = authentication.getName();
+            User currentUser = userService.findByUsername(currentUsername).orElseThrow();
+
+            Set<Long> followed = followService.getFollowedUserIds(currentUser.getId(), userIds);
+            Map<Long, Boolean> statuses = new LinkedHashMap<>();
+            userIds.forEach(userId -> statuses.put(userId, followed.contains(userId)));
+
+            return ResponseEntity.ok(ApiResponse.of(statuses));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -115,20 +114,13 @@ public class FollowController {
             Long followerCount = followService.getFollowerCount(userId);
             Long followingCount = followService.getFollowingCount(userId);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", Map.of(
+            return ResponseEntity.ok(ApiResponse.of(Map.of(
                 "isFollowing", isFollowing,
                 "followerCount", followerCount,
                 "followingCount", followingCount
-            ));
-            
-            return ResponseEntity.ok(response);
+            )));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
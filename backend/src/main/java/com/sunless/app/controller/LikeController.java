@@ -1,15 +1,20 @@
 package com.sunless.app.controller;
 
+import com.sunless.app.dto.ApiResponse;
+import com.sunless.app.dto.ErrorResponse;
 import com.sunless.app.mode.User;
 import com.sunless.app.service.LikeService;
 import com.sunless.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/like")
@@ -21,6 +26,9 @@ public class LikeController {
     @Autowired
     private UserService userService;
 
+    @Value("${app.viewer-state.max-ids:100}")
+    private int maxStatusIds;
+
     @PostMapping("/post/{postId}")
     public ResponseEntity<?> likePost(@PathVariable Long postId, Authentication authentication) {
         try {
@@ -29,20 +37,12 @@ public class LikeController {
             
             boolean liked = likeService.likePost(currentUser.getId(), postId);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", Map.of(
+            return ResponseEntity.ok(ApiResponse.of(liked ? "Post liked successfully" : "Already liked this post", Map.of(
                 "success", liked,
                 "likeCount", likeService.getLikeCount(postId)
-            ));
-            response.put("message", liked ? "Post liked successfully" : "Already liked this post");
-            
-            return ResponseEntity.ok(response);
+            )));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -54,20 +54,32 @@ public class LikeController {
             
             boolean unliked = likeService.unlikePost(currentUser.getId(), postId);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", Map.of(
+            return ResponseEntity.ok(ApiResponse.of(unliked ? "Post unliked successfully" : "Post was not liked", Map.of(
                 "success", unliked,
                 "likeCount", likeService.getLikeCount(postId)
-            ));
-            response.put("message", "Post unliked successfully");
-            
-            return ResponseEntity.ok(response);
+            )));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
+        }
+    }
+
+    // Liked flags for a batch of posts (e.g. ?postIds=1,2,3) in one query
+    @GetMapping("/status")
+    public ResponseEntity<?> getLikeStatuses(@RequestParam List<Long> postIds, Authentication authentication) {
+        try {
+            if (postIds.size() > maxStatusIds) {
+                return ResponseEntity.badRequest().body(ErrorResponse.of("At most " + maxStatusIds + " post ids per request"));
+            }
+            String currentUsername = authentication.getName();
+            User currentUser = userService.findByUsername(currentUsername).orElseThrow();
+
+            Set<Long> liked = likeService.getLikedPostIds(currentUser.getId(), postIds);
+            Map<Long, Boolean> statuses = new LinkedHashMap<>();
+            postIds.forEach(postId -> statuses.put(postId, liked.contains(postId)));
+
+            return ResponseEntity.ok(ApiResponse.of(statuses));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -80,19 +92,12 @@ public class LikeController {
             boolean isLiked = likeService.isLiked(currentUser.getId(), postId);
             Long likeCount = likeService.getLikeCount(postId);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", Map.of(
+            return ResponseEntity.ok(ApiResponse.of(Map.of(
                 "isLiked", isLiked,
                 "likeCount", likeCount
-            ));
-            
-            return ResponseEntity.ok(response);
+            )));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 }
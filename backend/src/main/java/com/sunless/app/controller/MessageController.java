@@ -1,16 +1,19 @@
 package com.sunless.app.controller;
 
+import com.sunless.app.dto.ApiResponse;
+import com.sunless.app.dto.CursorPage;
+import com.sunless.app.dto.ErrorResponse;
+import com.sunless.app.dto.MessageDTO;
+import com.sunless.app.dto.PresenceDTO;
 import com.sunless.app.mode.Message;
 import com.sunless.app.mode.User;
 import com.sunless.app.service.MessageService;
 import com.sunless.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -34,49 +37,31 @@ public class MessageController {
             String content = request.get("content").toString();
             
             if (content == null || content.trim().isEmpty()) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("error", "Message content cannot be empty");
-                return ResponseEntity.badRequest().body(error);
+                return ResponseEntity.badRequest().body(ErrorResponse.of("Message content cannot be empty"));
             }
             
             Message message = messageService.sendMessage(currentUser.getId(), receiverId, content.trim());
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", message);
-            response.put("message", "Message sent successfully");
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of("Message sent successfully", MessageDTO.fromEntity(message)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
     @GetMapping("/conversation/{userId}")
     public ResponseEntity<?> getConversation(@PathVariable Long userId,
-                                           @RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(required = false) Long before,
                                            @RequestParam(defaultValue = "20") int size,
                                            Authentication authentication) {
         try {
             String currentUsername = authentication.getName();
             User currentUser = userService.findByUsername(currentUsername).orElseThrow();
             
-            Page<Message> messages = messageService.getMessagesBetweenUsers(currentUser.getId(), userId, page, size);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", messages);
+            CursorPage<Message> messages = messageService.getMessagesBetweenUsers(currentUser.getId(), userId, before, size);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(messageService.toListDTO(messages)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -88,16 +73,23 @@ public class MessageController {
             
             List<Message> latestMessages = messageService.getLatestMessagesInConversations(currentUser.getId());
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", latestMessages);
+            return ResponseEntity.ok(ApiResponse.of(messageService.toListDTO(latestMessages)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/conversations/presence")
+    public ResponseEntity<?> getConversationPresence(Authentication authentication) {
+        try {
+            String currentUsername = authentication.getName();
+            User currentUser = userService.findByUsername(currentUsername).orElseThrow();
+            
+            List<PresenceDTO> presence = messageService.getConversationPartnerPresence(currentUser.getId());
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(presence));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -109,16 +101,9 @@ public class MessageController {
             
             Long unreadCount = messageService.getUnreadMessageCount(currentUser.getId());
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", Map.of("unreadCount", unreadCount));
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(Map.of("unreadCount", unreadCount)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -130,16 +115,9 @@ public class MessageController {
             
             List<Message> unreadMessages = messageService.getUnreadMessages(currentUser.getId());
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", unreadMessages);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(messageService.toListDTO(unreadMessages)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -151,16 +129,9 @@ public class MessageController {
             
             messageService.markMessagesAsRead(userId, currentUser.getId());
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Messages marked as read");
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.message("Messages marked as read"));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -172,16 +143,9 @@ public class MessageController {
             
             messageService.deleteMessage(messageId, currentUser.getId());
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Message deleted successfully");
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.message("Message deleted successfully"));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 }
@@ -1,5 +1,7 @@
 package com.sunless.app.controller;
 
+import com.sunless.app.dto.ApiResponse;
+import com.sunless.app.dto.ErrorResponse;
 import com.sunless.app.mode.Notification;
 import com.sunless.app.mode.User;
 import com.sunless.app.service.NotificationService;
@@ -9,7 +11,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,15 +31,9 @@ public class NotificationController {
             User currentUser = userService.findByUsername(currentUsername).orElseThrow();
             
             List<Notification> notifications = notificationService.getUserNotifications(currentUser.getId());
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", notifications);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(notifications));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -49,15 +44,9 @@ public class NotificationController {
             User currentUser = userService.findByUsername(currentUsername).orElseThrow();
             
             List<Notification> notifications = notificationService.getUnreadNotifications(currentUser.getId());
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", notifications);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(notifications));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -69,16 +58,9 @@ public class NotificationController {
             
             Long count = notificationService.getUnreadCount(currentUser.getId());
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", Map.of("unreadCount", count));
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(Map.of("unreadCount", count)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -90,17 +72,9 @@ public class NotificationController {
             
             boolean marked = notificationService.markAsRead(currentUser.getId(), notificationId);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", marked);
-            response.put("message", marked ? "Notification marked as read" : "Notification not found");
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(marked ? "Notification marked as read" : "Notification not found", marked));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -112,17 +86,9 @@ public class NotificationController {
             
             boolean marked = notificationService.markAllAsRead(currentUser.getId());
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", marked);
-            response.put("message", "All notifications marked as read");
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of("All notifications marked as read", marked));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 }
@@ -1,8 +1,12 @@
 package com.sunless.app.controller;
 
+import com.sunless.app.dto.ApiResponse;
+import com.sunless.app.dto.ErrorResponse;
+import com.sunless.app.dto.PageResponse;
 import com.sunless.app.dto.PostDTO;
 import com.sunless.app.mode.Post;
 import com.sunless.app.mode.User;
+import com.sunless.app.service.ETags;
 import com.sunless.app.service.FeedService;
 import com.sunless.app.service.PostService;
 import com.sunless.app.service.UserService;
@@ -11,8 +15,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -57,39 +61,33 @@ public class PostController {
             // Convert to DTO to avoid circular references
             PostDTO postDTO = PostDTO.fromEntity(savedPost);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Post created successfully");
-            response.put("data", postDTO);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of("Post created successfully", postDTO));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
     @GetMapping("/{postId}")
-    public ResponseEntity<?> getPostById(@PathVariable Long postId) {
+    public ResponseEntity<?> getPostById(@PathVariable Long postId, Authentication authentication,
+                                         WebRequest webRequest) {
         try {
-            Post post = postService.getPostById(postId);
-            if (post == null) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("error", "Post not found");
-                return ResponseEntity.status(404).body(error);
+            Long viewerId = feedService.getCurrentUserId(authentication.getName());
+            String etag = postService.getVisiblePostETag(postId, viewerId);
+            if (etag == null) {
+                return ResponseEntity.status(404).body(ErrorResponse.of("Post not found"));
+            }
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
+            PostDTO postDTO = postService.getVisiblePostDTO(postId, viewerId, etag);
+            if (postDTO == null) {
+                return ResponseEntity.status(404).body(ErrorResponse.of("Post not found"));
             }
             
-            // Convert to DTO to avoid circular references
-            PostDTO postDTO = PostDTO.fromEntity(post);
-            return ResponseEntity.ok(postDTO);
+            return ResponseEntity.ok().cacheControl(ETags.REVALIDATE).body(postDTO);
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -103,17 +101,11 @@ public class PostController {
             
             Post post = postService.getPostById(postId);
             if (post == null) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("error", "Post not found");
-                return ResponseEntity.status(404).body(error);
+                return ResponseEntity.status(404).body(ErrorResponse.of("Post not found"));
             }
             
             if (!post.getUser().getId().equals(currentUser.getId())) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("error", "Not authorized to update this post");
-                return ResponseEntity.status(403).body(error);
+                return ResponseEntity.status(403).body(ErrorResponse.of("Not authorized to update this post"));
             }
             
             if (request.containsKey("content")) {
@@ -128,17 +120,9 @@ public class PostController {
             
             Post updatedPost = postService.updatePost(post);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Post updated successfully");
-            response.put("data", updatedPost);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of("Post updated successfully", updatedPost));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -150,32 +134,18 @@ public class PostController {
             
             Post post = postService.getPostById(postId);
             if (post == null) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("error", "Post not found");
-                return ResponseEntity.status(404).body(error);
+                return ResponseEntity.status(404).body(ErrorResponse.of("Post not found"));
             }
             
             if (!post.getUser().getId().equals(currentUser.getId())) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("error", "Not authorized to delete this post");
-                return ResponseEntity.status(403).body(error);
+                return ResponseEntity.status(403).body(ErrorResponse.of("Not authorized to delete this post"));
             }
             
             boolean deleted = postService.deletePost(postId);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", deleted);
-            response.put("message", "Post deleted successfully");
-            response.put("data", deleted);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new ApiResponse<>(deleted, "Post deleted successfully", deleted));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -186,35 +156,28 @@ public class PostController {
             List<Post> posts = postService.getAllPosts(page, size);
             return ResponseEntity.ok(posts);
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<?> getPostsByUser(@PathVariable Long userId,
                                           @RequestParam(defaultValue = "0") int page,
-                                          @RequestParam(defaultValue = "10") int size) {
+                                          @RequestParam(defaultValue = "10") int size,
+                                          Authentication authentication,
+                                          WebRequest webRequest) {
         try {
-            Page<PostDTO> posts = feedService.getPostsByUser(userId, page, size);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("content", posts.getContent());
-            response.put("currentPage", posts.getNumber());
-            response.put("totalPages", posts.getTotalPages());
-            response.put("totalElements", posts.getTotalElements());
-            response.put("hasNext", posts.hasNext());
-            response.put("hasPrevious", posts.hasPrevious());
-            
-            return ResponseEntity.ok(response);
+            Long viewerId = feedService.getCurrentUserId(authentication.getName());
+            String etag = feedService.getPostsByUserETag(userId, page, size, viewerId);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
+            Page<PostDTO> posts = feedService.getPostsByUser(userId, page, size, viewerId);
+            
+            return ResponseEntity.ok().cacheControl(ETags.REVALIDATE).body(PageResponse.of(posts));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 }
@@ -0,0 +1,48 @@
+package com.sunless.app.controller;
+
+import com.sunless.app.dto.ApiResponse;
+import com.sunless.app.dto.ErrorResponse;
+import com.sunless.app.dto.PageResponse;
+import com.sunless.app.dto.ProfileDTO;
+import com.sunless.app.service.FeedService;
+import com.sunless.app.service.ProfileService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeoutException;
+
+@RestController
+@RequestMapping("/api/profile")
+public class ProfileController {
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private FeedService feedService;
+
+    // One round-trip for the profile page: user, follow state and counts, and the first page of posts
+    @GetMapping("/{userId}")
+    public ResponseEntity<?> getProfile(@PathVariable Long userId,
+                                        @RequestParam(defaultValue = "0") int page,
+                                        @RequestParam(defaultValue = "10") int size,
+                                        Authentication authentication) {
+        try {
+            Long viewerId = feedService.getCurrentUserId(authentication.getName());
+            ProfileService.Profile profile = profileService.getProfile(userId, viewerId, page, size);
+            if (profile == null) {
+                return ResponseEntity.status(404).body(ErrorResponse.of("User not found"));
+            }
+            return ResponseEntity.ok(ApiResponse.of(new ProfileDTO(UserController.createUserResponse(profile.user()),
+                    profile.isFollowing(), profile.followerCount(), profile.followingCount(),
+                    PageResponse.of(profile.posts()))));
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(ErrorResponse.of("Profile took too long to load"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.sunless.app.controller;
 
+import com.sunless.app.dto.ApiResponse;
+import com.sunless.app.dto.ErrorResponse;
 import com.sunless.app.dto.UserResponse;
 import com.sunless.app.mode.User;
+import com.sunless.app.service.ETags;
 import com.sunless.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -24,15 +27,9 @@ public class UserController {
         try {
             String currentUsername = authentication.getName();
             User currentUser = userService.findByUsername(currentUsername).orElseThrow();
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", createUserResponse(currentUser));
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(createUserResponse(currentUser)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -53,15 +50,9 @@ public class UserController {
             }
             
             User updatedUser = userService.updateUser(currentUser);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", createUserResponse(updatedUser));
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(createUserResponse(updatedUser)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
@@ -70,43 +61,34 @@ public class UserController {
         try {
             List<User> users = userService.searchUsers(query);
             List<UserResponse> userResponses = users.stream()
-                    .map(this::createUserResponse)
+                    .map(UserController::createUserResponse)
                     .toList();
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", userResponses);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.of(userResponses));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<?> getUserById(@PathVariable Long userId) {
+    public ResponseEntity<?> getUserById(@PathVariable Long userId, WebRequest webRequest) {
         try {
+            String etag = userService.getUserETag(userId);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
             User user = userService.findById(userId);
             if (user == null) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("error", "User not found");
-                return ResponseEntity.status(404).body(error);
+                return ResponseEntity.status(404).body(ErrorResponse.of("User not found"));
             }
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", createUserResponse(user));
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(ETags.REVALIDATE).body(ApiResponse.of(createUserResponse(user)));
         } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("success", false);
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
 
-    private UserResponse createUserResponse(User user) {
+    // Also used by ProfileController
+    static UserResponse createUserResponse(User user) {
         UserResponse response = new UserResponse();
         response.setId(user.getId());
         response.setUsername(user.getUsername());
@@ -0,0 +1,50 @@
+package com.sunless.app.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the replica and everything
+ * else to the primary. Must sit behind a LazyConnectionDataSourceProxy so the connection is only
+ * picked once the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return readYourWritesTracker.recentlyWrote() ? Route.PRIMARY : Route.REPLICA;
+        }
+        trackWriteOnCommit();
+        return Route.PRIMARY;
+    }
+
+    // Any read-write transaction counts as a write once it commits; register at most once per transaction
+    private void trackWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadWriteRoutingDataSource.this);
+                if (status == STATUS_COMMITTED) {
+                    readYourWritesTracker.recordWrite();
+                }
+            }
+        });
+    }
+}
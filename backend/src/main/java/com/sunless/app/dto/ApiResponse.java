@@ -0,0 +1,19 @@
+package com.sunless.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApiResponse<T>(boolean success, String message, T data) {
+
+    public static <T> ApiResponse<T> of(T data) {
+        return new ApiResponse<>(true, null, data);
+    }
+
+    public static <T> ApiResponse<T> of(String message, T data) {
+        return new ApiResponse<>(true, message, data);
+    }
+
+    public static ApiResponse<Void> message(String message) {
+        return new ApiResponse<>(true, message, null);
+    }
+}
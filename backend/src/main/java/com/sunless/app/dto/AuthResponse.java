@@ -0,0 +1,15 @@
+package com.sunless.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AuthResponse(boolean success, String message, String token, String type, UserResponse user) {
+
+    public static AuthResponse of(String message, String token, UserResponse user) {
+        return new AuthResponse(true, message, token, "Bearer", user);
+    }
+
+    public static AuthResponse of(UserResponse user) {
+        return new AuthResponse(true, null, null, null, user);
+    }
+}
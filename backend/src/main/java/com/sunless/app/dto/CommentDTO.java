@@ -1,11 +1,13 @@
 package com.sunless.app.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.sunless.app.mode.Comment;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @AllArgsConstructor
@@ -16,7 +18,12 @@ public class CommentDTO {
     private UserDTO user;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-    private boolean isActive;
+    private int likeCount;
+    // Boolean, not boolean, so the JSON name stays "isActive" like the entity's
+    private Boolean isActive;
+    // Only filled in by the comments-by-post listing
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CommentDTO> replies;
 
     public static CommentDTO fromEntity(Comment comment) {
         if (comment == null) return null;
@@ -27,7 +34,8 @@ public class CommentDTO {
         dto.setUser(UserDTO.fromEntity(comment.getUser()));
         dto.setCreatedAt(comment.getCreatedAt());
         dto.setUpdatedAt(comment.getUpdatedAt());
-        dto.setActive(comment.getIsActive());
+        dto.setLikeCount(comment.getLikeCount());
+        dto.setIsActive(comment.getIsActive());
         
         return dto;
     }
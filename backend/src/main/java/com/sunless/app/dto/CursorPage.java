@@ -0,0 +1,9 @@
+package com.sunless.app.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paged listing. Pass {@code nextCursor} back to fetch the page after this one.
+ */
+public record CursorPage<T>(List<T> content, Long nextCursor, boolean hasMore) {
+}
@@ -0,0 +1,21 @@
+package com.sunless.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(boolean success, String error, String message, Map<String, String> errors) {
+
+    public static ErrorResponse of(String error) {
+        return new ErrorResponse(false, error, null, null);
+    }
+
+    public static ErrorResponse of(String error, String message) {
+        return new ErrorResponse(false, error, message, null);
+    }
+
+    public static ErrorResponse validation(Map<String, String> errors) {
+        return new ErrorResponse(false, null, "Validation failed", errors);
+    }
+}
@@ -0,0 +1,37 @@
+package com.sunless.app.dto;
+
+import com.sunless.app.mode.Message;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MessageDTO {
+    private Long id;
+    private Long senderId;
+    private Long receiverId;
+    private String content;
+    // Boolean keeps Lombok's accessor getIsRead(), so Jackson writes "isRead" as the frontend expects
+    private Boolean isRead;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Reads only the ids of sender and receiver, so their lazy proxies stay uninitialized
+    public static MessageDTO fromEntity(Message message) {
+        if (message == null) return null;
+
+        MessageDTO dto = new MessageDTO();
+        dto.setId(message.getId());
+        dto.setSenderId(message.getSender().getId());
+        dto.setReceiverId(message.getReceiver().getId());
+        dto.setContent(message.getContent());
+        dto.setIsRead(message.getIsRead());
+        dto.setCreatedAt(message.getCreatedAt());
+        dto.setUpdatedAt(message.getUpdatedAt());
+        return dto;
+    }
+}
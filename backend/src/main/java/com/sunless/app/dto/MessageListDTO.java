@@ -0,0 +1,21 @@
+package com.sunless.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Messages plus each user they mention, listed once in {@code participants} (keyed by id) rather than
+ * embedded in every message. The cursor fields are only set for paged conversation reads.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MessageListDTO(List<MessageDTO> content,
+                             Map<Long, ParticipantDTO> participants,
+                             Long nextCursor,
+                             Boolean hasMore) {
+
+    public static MessageListDTO of(List<MessageDTO> content, Map<Long, ParticipantDTO> participants) {
+        return new MessageListDTO(content, participants, null, null);
+    }
+}
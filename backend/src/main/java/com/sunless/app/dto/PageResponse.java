@@ -0,0 +1,25 @@
+package com.sunless.app.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public record PageResponse<T>(boolean success,
+                              List<T> content,
+                              int currentPage,
+                              int totalPages,
+                              long totalElements,
+                              boolean hasNext,
+                              boolean hasPrevious) {
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(
+                true,
+                page.getContent(),
+                page.getNumber(),
+                page.getTotalPages(),
+                page.getTotalElements(),
+                page.hasNext(),
+                page.hasPrevious());
+    }
+}
@@ -0,0 +1,11 @@
+package com.sunless.app.dto;
+
+import com.sunless.app.repo.UserSummary;
+
+public record ParticipantDTO(Long id, String username, String firstName, String lastName, String profilePictureUrl) {
+
+    public static ParticipantDTO fromSummary(UserSummary summary) {
+        return new ParticipantDTO(summary.getId(), summary.getUsername(), summary.getFirstName(),
+                summary.getLastName(), summary.getProfilePictureUrl());
+    }
+}
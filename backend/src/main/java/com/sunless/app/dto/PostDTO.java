@@ -1,5 +1,6 @@
 package com.sunless.app.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.sunless.app.mode.Post;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -29,6 +30,11 @@ public class PostDTO {
     private UserDTO author;
     private List<LikeDTO> likes;
     private List<CommentDTO> comments;
+    // Filled in for feeds read by a signed-in user; absent elsewhere
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean likedByViewer;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean authorFollowedByViewer;
 
     public static PostDTO fromEntity(Post post) {
         if (post == null) return null;
@@ -69,4 +75,11 @@ public class PostDTO {
         
         return dto;
     }
+
+    // Shallow copy, so per-viewer flags can be set without touching a DTO other requests share
+    public PostDTO copy() {
+        return new PostDTO(id, content, createdAt, updatedAt, type, privacy, imageUrl, videoUrl, location,
+                likeCount, commentCount, shareCount, isActive, author, likes, comments,
+                likedByViewer, authorFollowedByViewer);
+    }
 }
@@ -0,0 +1,13 @@
+package com.sunless.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PresenceDTO(Long userId, boolean online, Instant lastSeenAt) {
+
+    public static PresenceDTO of(Long userId, Instant lastSeenAt) {
+        return new PresenceDTO(userId, lastSeenAt != null, lastSeenAt);
+    }
+}
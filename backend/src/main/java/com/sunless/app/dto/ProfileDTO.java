@@ -0,0 +1,14 @@
+package com.sunless.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Everything a profile page shows, in one response. {@code isFollowing} is absent on the viewer's own profile.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProfileDTO(UserResponse user,
+                         Boolean isFollowing,
+                         long followerCount,
+                         long followingCount,
+                         PageResponse<PostDTO> posts) {
+}
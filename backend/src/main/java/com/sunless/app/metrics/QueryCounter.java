@@ -0,0 +1,29 @@
+package com.sunless.app.metrics;
+
+/**
+ * Counts JDBC statements executed on the current thread between {@link #start()} and {@link #stop()}.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    public static long stop() {
+        long[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    static void increment(int statements) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0] += statements;
+        }
+    }
+}
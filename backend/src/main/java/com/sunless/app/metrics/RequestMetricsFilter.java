@@ -0,0 +1,96 @@
+package com.sunless.app.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency, JDBC statement count and (sampled) allocated bytes per controller method.
+ * Wraps the whole filter chain so queries issued during authentication are attributed too.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+    private final MeterRegistry meterRegistry;
+    private final double allocationSampleRate;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, double allocationSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.allocationSampleRate = THREAD_MX_BEAN == null ? 0 : allocationSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean sampleAllocation = allocationSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < allocationSampleRate;
+        long allocatedBefore = sampleAllocation ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : -1;
+        long start = System.nanoTime();
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long statements = QueryCounter.stop();
+            String handler = handlerName(request);
+
+            Timer.builder("app.request.latency")
+                    .description("Request latency per controller method")
+                    .tag("handler", handler)
+                    .publishPercentiles(0.5, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+
+            DistributionSummary.builder("app.request.jdbc.statements")
+                    .description("JDBC statements executed per request")
+                    .tag("handler", handler)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(statements);
+
+            // Virtual threads report -1; skip rather than record garbage
+            if (allocatedBefore >= 0) {
+                long allocatedAfter = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+                if (allocatedAfter >= 0) {
+                    DistributionSummary.builder("app.request.allocated")
+                            .description("Heap bytes allocated by the request thread (sampled)")
+                            .baseUnit("bytes")
+                            .tag("handler", handler)
+                            .publishPercentiles(0.5, 0.99)
+                            .register(meterRegistry)
+                            .record(allocatedAfter - allocatedBefore);
+                }
+            }
+        }
+    }
+
+    private String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        // Rejected by security, unmapped, or served by a resource handler
+        return "none";
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+}
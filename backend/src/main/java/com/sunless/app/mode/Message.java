@@ -4,10 +4,14 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+    @Index(name = "idx_messages_sender_receiver_created", columnList = "sender_id, receiver_id, created_at"),
+    @Index(name = "idx_messages_receiver_read_created", columnList = "receiver_id, is_read, created_at"),
+    @Index(name = "idx_messages_conversation_id", columnList = "conversation_key, id")
+})
 public class Message {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -18,6 +22,10 @@ public class Message {
     @JoinColumn(name = "receiver_id", nullable = false)
     private User receiver;
 
+    // Same for both directions ("<smaller user id>:<larger user id>"), so one index range holds a conversation
+    @Column(name = "conversation_key", nullable = false, length = 41)
+    private String conversationKey;
+
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
@@ -32,6 +40,7 @@ public class Message {
 
     @PrePersist
     protected void onCreate() {
+        conversationKey = conversationKey(sender.getId(), receiver.getId());
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
@@ -50,6 +59,10 @@ public class Message {
         this.content = content;
     }
 
+    public static String conversationKey(Long userId1, Long userId2) {
+        return Math.min(userId1, userId2) + ":" + Math.max(userId1, userId2);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -75,6 +88,10 @@ public class Message {
         this.receiver = receiver;
     }
 
+    public String getConversationKey() {
+        return conversationKey;
+    }
+
     public String getContent() {
         return content;
     }
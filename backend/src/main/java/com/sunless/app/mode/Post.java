@@ -5,6 +5,8 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.time.LocalDateTime;
@@ -14,12 +16,18 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "posts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_user_active_created", columnList = "user_id, is_active, created_at"),
+    @Index(name = "idx_posts_active_privacy_created", columnList = "is_active, privacy, created_at"),
+    @Index(name = "idx_posts_active_privacy_likes", columnList = "is_active, privacy, like_count")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Size(max = 2000, message = "Content must not exceed 2000 characters")
@@ -85,6 +93,7 @@ public class Post {
         TEXT, IMAGE, VIDEO, LINK
     }
 
+    // FRIENDS posts are visible to the author's followers, PRIVATE ones only to the author
     public enum PostPrivacy {
         PUBLIC, FRIENDS, PRIVATE
     }
@@ -0,0 +1,18 @@
+package com.sunless.app.mode;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns time-ordered ids in memory, so inserts no longer depend on IDENTITY columns and
+ * Hibernate can batch them. See {@link SnowflakeIdGenerator} for the bit layout.
+ */
+@IdGeneratorType(SnowflakeIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
@@ -0,0 +1,94 @@
+package com.sunless.app.mode;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style ids: 41 bits of milliseconds since {@link #EPOCH_MILLIS}, 4 bits of node id
+ * and 8 bits of per-millisecond sequence. The total stays within 53 bits so JavaScript clients
+ * can hold every id exactly. Ids from one node are strictly increasing, and ids across nodes are
+ * ordered by creation time to the millisecond.
+ */
+public class SnowflakeIdGenerator implements BeforeExecutionGenerator {
+
+    public static final String NODE_ID_PROPERTY = "app.id.node-id";
+    public static final String NODE_ID_ENV = "APP_ID_NODE_ID";
+
+    static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    static final int NODE_BITS = 4;
+    static final int SEQUENCE_BITS = 8;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Last issued (timestamp << SEQUENCE_BITS | sequence), shared by every entity type
+    private static final AtomicLong LAST_STATE = new AtomicLong();
+
+    private final long nodeId;
+
+    // Hibernate hands generator creation to Spring's bean container, so keep a plain constructor
+    // and read the node id from the process environment rather than from injected settings
+    public SnowflakeIdGenerator() {
+        this.nodeId = configuredNodeId();
+    }
+
+    /**
+     * Next id for this node, for native inserts that bypass Hibernate's id generation.
+     */
+    public static long nextId() {
+        return nextId(ConfiguredNode.ID);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return nextId(nodeId);
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    private static long configuredNodeId() {
+        String setting = System.getProperty(NODE_ID_PROPERTY, System.getenv(NODE_ID_ENV));
+        long nodeId = setting == null || setting.isBlank() ? 0L : Long.parseLong(setting.trim());
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException(NODE_ID_ENV + " must be between 0 and " + MAX_NODE_ID);
+        }
+        return nodeId;
+    }
+
+    static long nextId(long nodeId) {
+        while (true) {
+            long last = LAST_STATE.get();
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                // Same millisecond, or the clock stepped back: keep counting from the last timestamp
+                next = last + 1;
+            } else {
+                // Sequence exhausted for this millisecond: borrow the next one
+                next = (lastTimestamp + 1) << SEQUENCE_BITS;
+            }
+
+            if (LAST_STATE.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    private static final class ConfiguredNode {
+        static final long ID = configuredNodeId();
+    }
+}
@@ -0,0 +1,42 @@
+package com.sunless.app.presence;
+
+import com.sunless.app.mode.User;
+import com.sunless.app.service.UserService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Marks the caller of every authenticated request as online. The username lookup is served from the
+ * query cache the JWT filter has just warmed, so this adds no SQL to the request.
+ */
+public class PresenceFilter extends OncePerRequestFilter {
+
+    private final PresenceTracker presenceTracker;
+    private final UserService userService;
+
+    public PresenceFilter(PresenceTracker presenceTracker, UserService userService) {
+        this.presenceTracker = presenceTracker;
+        this.userService = userService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            userService.findByUsername(authentication.getName())
+                    .map(User::getId)
+                    .ifPresent(presenceTracker::touch);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
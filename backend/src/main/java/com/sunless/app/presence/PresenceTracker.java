@@ -0,0 +1,137 @@
+package com.sunless.app.presence;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Who is online, kept only in memory: each user's last-seen time (epoch millis), refreshed by authenticated
+ * requests and WebSocket heartbeats. Refreshing a known user is a single CAS on its entry, with no allocation
+ * and no database write. Users silent for longer than the timeout are dropped by a hashed timer wheel:
+ * each entry sits in the slot of the tick it would expire at and is re-slotted, rather than removed, if it
+ * was seen again in the meantime.
+ */
+public class PresenceTracker {
+
+    private static final long EXPIRED = Long.MIN_VALUE;
+
+    private final ConcurrentHashMap<Long, AtomicLong> lastSeen = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long>[] wheel;
+    private final int mask;
+    private final long tickMillis;
+    private final long timeoutMillis;
+    private final LongSupplier clock;
+    private long sweptTick;
+
+    @SuppressWarnings("unchecked")
+    public PresenceTracker(Duration timeout, Duration tick, LongSupplier clock) {
+        this.tickMillis = tick.toMillis();
+        this.timeoutMillis = timeout.toMillis();
+        this.clock = clock;
+        // Entries are slotted at most timeout/tick + 1 ticks ahead, so the wheel never wraps onto a due slot
+        long timeoutTicks = ticksUntil(timeoutMillis);
+        int slots = Integer.highestOneBit((int) timeoutTicks + 2) << 1;
+        this.wheel = new ConcurrentLinkedQueue[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.mask = slots - 1;
+        this.sweptTick = clock.getAsLong() / tickMillis;
+    }
+
+    public void touch(long userId) {
+        long now = clock.getAsLong();
+        while (true) {
+            AtomicLong seen = lastSeen.get(userId);
+            if (seen == null) {
+                if (lastSeen.putIfAbsent(userId, new AtomicLong(now)) == null) {
+                    schedule(userId, now);
+                    return;
+                }
+                continue;
+            }
+            long current = seen.get();
+            if (current == EXPIRED) {
+                // Lost the race with the sweeper; replace the dead entry
+                lastSeen.remove(userId, seen);
+                continue;
+            }
+            if (current >= now || seen.compareAndSet(current, now)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return when the user was last seen, or null if they are offline
+     */
+    public Instant lastSeen(long userId) {
+        AtomicLong seen = lastSeen.get(userId);
+        long at = seen == null ? EXPIRED : seen.get();
+        if (at == EXPIRED || at + timeoutMillis <= clock.getAsLong()) {
+            return null;
+        }
+        return Instant.ofEpochMilli(at);
+    }
+
+    public int onlineCount() {
+        return lastSeen.size();
+    }
+
+    @Scheduled(fixedRateString = "${app.presence.tick:PT1S}")
+    public synchronized void expire() {
+        long now = clock.getAsLong();
+        long currentTick = now / tickMillis;
+        // After a stall, one pass over every slot catches up
+        long ticks = Math.min(currentTick - sweptTick, wheel.length);
+        for (long tick = currentTick - ticks + 1; tick <= currentTick; tick++) {
+            ConcurrentLinkedQueue<Long> slot = wheel[(int) (tick & mask)];
+            List<Long> due = new ArrayList<>();
+            for (Long userId; (userId = slot.poll()) != null; ) {
+                due.add(userId);
+            }
+            for (Long userId : due) {
+                expireOrReschedule(userId, now);
+            }
+        }
+        sweptTick = currentTick;
+    }
+
+    private void expireOrReschedule(long userId, long now) {
+        AtomicLong seen = lastSeen.get(userId);
+        if (seen == null) {
+            return;
+        }
+        while (true) {
+            long at = seen.get();
+            if (at == EXPIRED) {
+                return;
+            }
+            if (at + timeoutMillis > now) {
+                schedule(userId, at);
+                return;
+            }
+            if (seen.compareAndSet(at, EXPIRED)) {
+                lastSeen.remove(userId, seen);
+                return;
+            }
+        }
+    }
+
+    private void schedule(long userId, long seenAt) {
+        long expiryTick = ticksUntil(seenAt + timeoutMillis);
+        wheel[(int) (expiryTick & mask)].add(userId);
+    }
+
+    // Rounded up, so an entry's slot never comes due before the entry has actually expired
+    private long ticksUntil(long millis) {
+        return -Math.floorDiv(-millis, tickMillis);
+    }
+}
@@ -0,0 +1,44 @@
+package com.sunless.app.presence;
+
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+/**
+ * Presence socket at {@code /ws/presence}: connecting marks the user online and any message the client
+ * sends afterwards (e.g. a periodic "ping") counts as a heartbeat. Closing the socket does not mark the
+ * user offline, since other tabs may still be open; the entry simply expires.
+ */
+public class PresenceWebSocketHandler extends TextWebSocketHandler {
+
+    public static final String USER_ID_ATTRIBUTE = "presence.userId";
+
+    private final PresenceTracker presenceTracker;
+
+    public PresenceWebSocketHandler(PresenceTracker presenceTracker) {
+        this.presenceTracker = presenceTracker;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        heartbeat(session);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        heartbeat(session);
+    }
+
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+        heartbeat(session);
+    }
+
+    private void heartbeat(WebSocketSession session) {
+        Object userId = session.getAttributes().get(USER_ID_ATTRIBUTE);
+        if (userId instanceof Long id) {
+            presenceTracker.touch(id);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.sunless.app.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to {@code capacity} tokens, one added back every {@code refillInterval}.
+ * Stored as the single instant at which the bucket will be full again (GCRA), so taking a token is one CAS
+ * and refill needs no timer or bookkeeping.
+ */
+public class TokenBucket {
+
+    private final long refillIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, long refillIntervalNanos, long now) {
+        this.refillIntervalNanos = refillIntervalNanos;
+        this.capacityNanos = capacity * refillIntervalNanos;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 on success, otherwise the nanoseconds until a token will be available
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + refillIntervalNanos;
+            long wait = next - now - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int remaining(long now) {
+        long used = Math.max(fullAt.get(), now) - now;
+        return (int) ((capacityNanos - used) / refillIntervalNanos);
+    }
+}
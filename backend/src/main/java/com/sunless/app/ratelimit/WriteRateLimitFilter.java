@@ -0,0 +1,139 @@
+package com.sunless.app.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sunless.app.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user token buckets on the write endpoints bots like to hammer. Runs right after the JWT filter,
+ * so the bucket key is the token's subject; anonymous requests pass through and are rejected later.
+ * A rejected request gets a 429 with {@code Retry-After} before it reaches a transaction.
+ */
+public class WriteRateLimitFilter extends OncePerRequestFilter {
+
+    public record Route(String name, String method, String pattern, int capacity, Duration period) {
+
+        long refillIntervalNanos() {
+            return period.toNanos() / capacity;
+        }
+    }
+
+    private final List<LimitedRoute> routes;
+    private final Cache<String, TokenBucket> buckets;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier clock;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public WriteRateLimitFilter(List<Route> routes, int maxTrackedBuckets, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry, LongSupplier clock) {
+        this.routes = routes.stream().map(route -> new LimitedRoute(route, meterRegistry)).toList();
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        // An idle bucket refills completely within its period, so evicting it after that loses nothing
+        Duration longestPeriod = routes.stream().map(Route::period).max(Duration::compareTo).orElse(Duration.ZERO);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(longestPeriod)
+                .maximumSize(maxTrackedBuckets)
+                .build();
+        meterRegistry.gauge("app.ratelimit.buckets", buckets, Cache::estimatedSize);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        LimitedRoute route = match(request);
+        String username = currentUsername();
+        if (route == null || username == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = clock.getAsLong();
+        TokenBucket bucket = buckets.get(route.route.name() + ":" + username,
+                key -> new TokenBucket(route.route.capacity(), route.route.refillIntervalNanos(), now));
+        long waitNanos = bucket.tryAcquire(now);
+        response.setIntHeader("X-RateLimit-Limit", route.route.capacity());
+
+        if (waitNanos == 0) {
+            route.allowed.increment();
+            response.setIntHeader("X-RateLimit-Remaining", bucket.remaining(now));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        route.rejected.increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setIntHeader("X-RateLimit-Remaining", 0);
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ErrorResponse.of("Too many requests", "Retry in " + retryAfterSeconds + " seconds"));
+    }
+
+    private LimitedRoute match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (LimitedRoute route : routes) {
+            if (route.route.method().equalsIgnoreCase(request.getMethod())
+                    && pathMatcher.match(route.route.pattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static final class LimitedRoute {
+
+        private final Route route;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        LimitedRoute(Route route, MeterRegistry meterRegistry) {
+            this.route = route;
+            this.allowed = counter(meterRegistry, route, "allowed");
+            this.rejected = counter(meterRegistry, route, "rejected");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, Route route, String outcome) {
+            return Counter.builder("app.ratelimit.requests")
+                    .description("Rate-limited write requests by route and outcome")
+                    .tag("route", route.name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -22,6 +22,7 @@ public interface CommentRepo extends JpaRepository<Comment, Long> {
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.post = :post AND c.isActive = true")
     Long countByPost(@Param("post") Post post);
     
-    @Query("SELECT c FROM Comment c WHERE c.post = :post AND c.parentComment IS NULL AND c.isActive = true ORDER BY c.createdAt DESC")
-    List<Comment> findTopLevelCommentsByPost(@Param("post") Post post);
+    // Every active comment of the post, replies included, with its author in the same query
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post = :post AND c.isActive = true ORDER BY c.createdAt DESC")
+    List<Comment> findThreadByPost(@Param("post") Post post);
 }
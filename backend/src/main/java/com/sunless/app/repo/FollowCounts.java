@@ -0,0 +1,6 @@
+package com.sunless.app.repo;
+
+public interface FollowCounts {
+    Long getFollowers();
+    Long getFollowing();
+}
@@ -2,11 +2,13 @@ package com.sunless.app.repo;
 
 import com.sunless.app.mode.Follow;
 import com.sunless.app.mode.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +19,11 @@ public interface FollowRepo extends JpaRepository<Follow, Long> {
     
     boolean existsByFollowerAndFollowing(User follower, User following);
     
+    // Fetch the other side in the same query; callers map every row to that user
+    @EntityGraph(attributePaths = "following")
     List<Follow> findByFollower(User follower);
     
+    @EntityGraph(attributePaths = "follower")
     List<Follow> findByFollowing(User following);
     
     @Query("SELECT COUNT(f) FROM Follow f WHERE f.following = :user")
@@ -28,4 +33,17 @@ public interface FollowRepo extends JpaRepository<Follow, Long> {
     Long countFollowing(@Param("user") User user);
     
     void deleteByFollowerAndFollowing(User follower, User following);
+
+    // Both counts in one round-trip; empty when the user does not exist
+    @Query("SELECT (SELECT COUNT(f) FROM Follow f WHERE f.following.id = u.id) AS followers, " +
+           "(SELECT COUNT(f) FROM Follow f WHERE f.follower.id = u.id) AS following " +
+           "FROM User u WHERE u.id = :userId")
+    Optional<FollowCounts> findFollowCounts(@Param("userId") Long userId);
+
+    // Ids only grow, so the newest id and the count together change on every follow and every unfollow
+    @Query("SELECT MAX(f.id) AS lastFollowId, COUNT(f) AS total FROM Follow f WHERE f.follower.id = :followerId")
+    FollowingVersion findFollowingVersion(@Param("followerId") Long followerId);
+
+    @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :followerId AND f.following.id IN :userIds")
+    List<Long> findFollowedUserIds(@Param("followerId") Long followerId, @Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,6 @@
+package com.sunless.app.repo;
+
+public interface FollowingVersion {
+    Long getLastFollowId();
+    Long getTotal();
+}
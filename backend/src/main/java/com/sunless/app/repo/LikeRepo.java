@@ -3,11 +3,17 @@ package com.sunless.app.repo;
 import com.sunless.app.mode.Like;
 import com.sunless.app.mode.Post;
 import com.sunless.app.mode.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +32,23 @@ public interface LikeRepo extends JpaRepository<Like, Long> {
     Long countByPost(@Param("post") Post post);
     
     void deleteByUserAndPost(User user, Post post);
+
+    @Query("SELECT l.post.id FROM Like l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    // Returns 0 when the like already exists or the user or post does not; callers tell these apart.
+    // IGNORE absorbs the race on the (user_id, post_id) unique key. It would also hide a foreign-key
+    // failure, so the select only yields a row when both the user and the post exist.
+    // The native-spaces hint keeps Hibernate from flushing every cache region.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "likes"))
+    @Query(value = "INSERT IGNORE INTO likes (id, user_id, post_id, created_at) " +
+                   "SELECT :id, u.id, p.id, :createdAt FROM posts p JOIN users u ON u.id = :userId " +
+                   "WHERE p.id = :postId", nativeQuery = true)
+    int insertIfAbsent(@Param("id") Long id, @Param("userId") Long userId, @Param("postId") Long postId,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM Like l WHERE l.user.id = :userId AND l.post.id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
 }
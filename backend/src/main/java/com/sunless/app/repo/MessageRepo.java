@@ -2,7 +2,6 @@ package com.sunless.app.repo;
 
 import com.sunless.app.mode.Message;
 import com.sunless.app.mode.User;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -15,19 +14,20 @@ import java.util.List;
 @Repository
 public interface MessageRepo extends JpaRepository<Message, Long> {
     
-    // Find messages between two users
-    @Query("SELECT m FROM Message m WHERE " +
-           "(m.sender = :user1 AND m.receiver = :user2) OR " +
-           "(m.sender = :user2 AND m.receiver = :user1) " +
-           "ORDER BY m.createdAt ASC")
-    Page<Message> findMessagesBetweenUsers(@Param("user1") User user1, @Param("user2") User user2, Pageable pageable);
+    // Newest messages of a conversation older than beforeId (keyset paging backwards over the conversation index)
+    @Query("SELECT m FROM Message m WHERE m.conversationKey = :conversationKey AND m.id < :beforeId ORDER BY m.id DESC")
+    List<Message> findConversationBefore(@Param("conversationKey") String conversationKey,
+                                         @Param("beforeId") Long beforeId, Pageable pageable);
     
     // Find all conversations for a user (get unique users they've messaged with)
-    @Query("SELECT DISTINCT CASE " +
-           "WHEN m.sender = :user THEN m.receiver " +
-           "ELSE m.sender " +
-           "END FROM Message m WHERE m.sender = :user OR m.receiver = :user")
+    @Query("SELECT u FROM User u WHERE u.id IN (" +
+           "SELECT m.receiver.id FROM Message m WHERE m.sender = :user " +
+           "UNION SELECT m.sender.id FROM Message m WHERE m.receiver = :user)")
     List<User> findConversationPartners(@Param("user") User user);
+
+    @Query("SELECT m.receiver.id FROM Message m WHERE m.sender.id = :userId " +
+           "UNION SELECT m.sender.id FROM Message m WHERE m.receiver.id = :userId")
+    List<Long> findConversationPartnerIds(@Param("userId") Long userId);
     
     // Find unread message count for a user
     @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver = :user AND m.isRead = false")
@@ -39,10 +39,9 @@ public interface MessageRepo extends JpaRepository<Message, Long> {
     
     // Find latest message in each conversation
     @Query("SELECT m FROM Message m WHERE m.id IN (" +
-           "SELECT MAX(m2.id) FROM Message m2 WHERE " +
-           "(m2.sender = :user OR m2.receiver = :user) " +
-           "GROUP BY CASE WHEN m2.sender = :user THEN m2.receiver ELSE m2.sender END" +
-           ") ORDER BY m.createdAt DESC")
+           "SELECT MAX(m2.id) FROM Message m2 WHERE m2.sender = :user OR m2.receiver = :user " +
+           "GROUP BY m2.conversationKey" +
+           ") ORDER BY m.id DESC")
     List<Message> findLatestMessagesInConversations(@Param("user") User user);
     
     // Mark messages as read between two users
@@ -2,14 +2,21 @@ package com.sunless.app.repo;
 
 import com.sunless.app.mode.Post;
 import com.sunless.app.mode.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepo extends JpaRepository<Post, Long> {
@@ -19,17 +26,91 @@ public interface PostRepo extends JpaRepository<Post, Long> {
     
     Page<Post> findByUserAndIsActiveTrueOrderByCreatedAtDesc(User user, Pageable pageable);
     
-    Page<Post> findByUserInAndIsActiveTrueOrderByCreatedAtDesc(List<User> users, Pageable pageable);
+    Page<Post> findByUserAndIsActiveTrueAndPrivacyInOrderByCreatedAtDesc(User user, Collection<Post.PostPrivacy> privacies,
+                                                                         Pageable pageable);
+
+    // Every author passed in is followed by the viewer (or is the viewer), so FRIENDS posts are visible;
+    // PRIVATE ones only to their author
+    @Query("SELECT p FROM Post p WHERE p.user IN :authors AND p.isActive = true " +
+           "AND (p.privacy <> com.sunless.app.mode.Post.PostPrivacy.PRIVATE OR p.user = :viewer)")
+    Page<Post> findNewsFeed(@Param("authors") List<User> authors, @Param("viewer") User viewer, Pageable pageable);
     
-    Page<Post> findByIsActiveTrueOrderByCreatedAtDesc(Pageable pageable);
+    Page<Post> findByIsActiveTrueAndPrivacyOrderByCreatedAtDesc(Post.PostPrivacy privacy, Pageable pageable);
     
-    Page<Post> findByIsActiveTrueOrderByLikeCountDesc(Pageable pageable);
+    Page<Post> findByIsActiveTrueAndPrivacyOrderByLikeCountDesc(Post.PostPrivacy privacy, Pageable pageable);
     
-    Page<Post> findByContentContainingIgnoreCaseAndIsActiveTrueOrderByCreatedAtDesc(String content, Pageable pageable);
+    Page<Post> findByContentContainingIgnoreCaseAndIsActiveTrueAndPrivacyOrderByCreatedAtDesc(String content,
+                                                                                             Post.PostPrivacy privacy,
+                                                                                             Pageable pageable);
     
     @Query("SELECT p FROM Post p WHERE p.isActive = true ORDER BY p.createdAt DESC")
     List<Post> findAllActivePosts();
     
     @Query("SELECT p FROM Post p WHERE p.user = :user AND p.isActive = true ORDER BY p.createdAt DESC")
     List<Post> findActivePostsByUser(@Param("user") User user);
+
+    // Also versions what the post DTO embeds: its author, its comments with their authors, and its likers.
+    // Carries the author and privacy so visibility is decided without loading the post
+    @Query("SELECT u.id AS authorId, p.privacy AS privacy, p.updatedAt AS updatedAt, p.likeCount AS likeCount, p.commentCount AS commentCount, " +
+           "p.shareCount AS shareCount, p.isActive AS active, u.updatedAt AS authorUpdatedAt, " +
+           "(SELECT MAX(c.updatedAt) FROM Comment c WHERE c.post = p) AS commentsUpdatedAt, " +
+           "(SELECT MAX(cu.updatedAt) FROM Comment c JOIN c.user cu WHERE c.post = p) AS commentAuthorsUpdatedAt, " +
+           "(SELECT MAX(lu.updatedAt) FROM Like l JOIN l.user lu WHERE l.post = p) AS likersUpdatedAt " +
+           "FROM Post p JOIN p.user u WHERE p.id = :postId")
+    Optional<PostVersion> findVersionById(@Param("postId") Long postId);
+
+    // Atomic in the database, so concurrent likes never lose an increment; updatedAt moves the ETag.
+    // A JPQL bulk update, or a native one declaring the posts space, evicts the whole posts cache region.
+    // The declared space maps to no entity, so callers must evict the one post they changed.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_like_counts"))
+    @Query(value = "UPDATE posts SET like_count = like_count + :delta, updated_at = :now WHERE id = :postId",
+           nativeQuery = true)
+    int adjustLikeCount(@Param("postId") Long postId, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    // Like findVersionById, each timeline version also covers what its posts embed: the authors, the
+    // comments with their authors, and the likers
+    @Query("SELECT MAX(p.id) AS headId, MAX(p.updatedAt) AS lastUpdatedAt, COUNT(p) AS total, " +
+           "MAX(u.updatedAt) AS authorsUpdatedAt, " +
+           "(SELECT MAX(c.updatedAt) FROM Comment c JOIN c.post cp " +
+           "WHERE cp.isActive = true AND cp.privacy = com.sunless.app.mode.Post.PostPrivacy.PUBLIC) AS commentsUpdatedAt, " +
+           "(SELECT MAX(cu.updatedAt) FROM Comment c JOIN c.post cp JOIN c.user cu " +
+           "WHERE cp.isActive = true AND cp.privacy = com.sunless.app.mode.Post.PostPrivacy.PUBLIC) AS commentAuthorsUpdatedAt, " +
+           "(SELECT MAX(lu.updatedAt) FROM Like l JOIN l.post lp JOIN l.user lu " +
+           "WHERE lp.isActive = true AND lp.privacy = com.sunless.app.mode.Post.PostPrivacy.PUBLIC) AS likersUpdatedAt " +
+           "FROM Post p JOIN p.user u WHERE p.isActive = true AND p.privacy = com.sunless.app.mode.Post.PostPrivacy.PUBLIC")
+    TimelineVersion findPublicTimelineVersion();
+
+    @Query("SELECT MAX(p.id) AS headId, MAX(p.updatedAt) AS lastUpdatedAt, COUNT(p) AS total, " +
+           "MAX(u.updatedAt) AS authorsUpdatedAt, " +
+           "(SELECT MAX(c.updatedAt) FROM Comment c JOIN c.post cp " +
+           "WHERE cp.user = :user AND cp.isActive = true) AS commentsUpdatedAt, " +
+           "(SELECT MAX(cu.updatedAt) FROM Comment c JOIN c.post cp JOIN c.user cu " +
+           "WHERE cp.user = :user AND cp.isActive = true) AS commentAuthorsUpdatedAt, " +
+           "(SELECT MAX(lu.updatedAt) FROM Like l JOIN l.post lp JOIN l.user lu " +
+           "WHERE lp.user = :user AND lp.isActive = true) AS likersUpdatedAt " +
+           "FROM Post p JOIN p.user u WHERE p.user = :user AND p.isActive = true")
+    TimelineVersion findTimelineVersionByUser(@Param("user") User user);
+
+    // The news feed's authors (the user and everyone they follow) resolved in the query, not loaded first
+    @Query("SELECT MAX(p.id) AS headId, MAX(p.updatedAt) AS lastUpdatedAt, COUNT(p) AS total, " +
+           "MAX(u.updatedAt) AS authorsUpdatedAt, " +
+           "(SELECT MAX(c.updatedAt) FROM Comment c JOIN c.post cp WHERE cp.isActive = true AND " +
+           "(cp.user.id = :userId OR cp.user.id IN (SELECT cf.following.id FROM Follow cf WHERE cf.follower.id = :userId))) " +
+           "AS commentsUpdatedAt, " +
+           "(SELECT MAX(cu.updatedAt) FROM Comment c JOIN c.post cp JOIN c.user cu WHERE cp.isActive = true AND " +
+           "(cp.user.id = :userId OR cp.user.id IN (SELECT af.following.id FROM Follow af WHERE af.follower.id = :userId))) " +
+           "AS commentAuthorsUpdatedAt, " +
+           "(SELECT MAX(lu.updatedAt) FROM Like l JOIN l.post lp JOIN l.user lu WHERE lp.isActive = true AND " +
+           "(lp.user.id = :userId OR lp.user.id IN (SELECT lf.following.id FROM Follow lf WHERE lf.follower.id = :userId))) " +
+           "AS likersUpdatedAt " +
+           "FROM Post p JOIN p.user u WHERE p.isActive = true AND (p.user.id = :userId OR p.user.id IN " +
+           "(SELECT f.following.id FROM Follow f WHERE f.follower.id = :userId))")
+    TimelineVersion findNewsTimelineVersion(@Param("userId") Long userId);
+
+    @Query("SELECT p.imageUrl FROM Post p WHERE p.imageUrl IN :urls")
+    List<String> findImageUrlsIn(@Param("urls") Collection<String> urls);
+
+    @Query("SELECT p.videoUrl FROM Post p WHERE p.videoUrl IN :urls")
+    List<String> findVideoUrlsIn(@Param("urls") Collection<String> urls);
 }
@@ -0,0 +1,19 @@
+package com.sunless.app.repo;
+
+import com.sunless.app.mode.Post;
+
+import java.time.LocalDateTime;
+
+public interface PostVersion {
+    Long getAuthorId();
+    Post.PostPrivacy getPrivacy();
+    LocalDateTime getUpdatedAt();
+    Integer getLikeCount();
+    Integer getCommentCount();
+    Integer getShareCount();
+    Boolean getActive();
+    LocalDateTime getAuthorUpdatedAt();
+    LocalDateTime getCommentsUpdatedAt();
+    LocalDateTime getCommentAuthorsUpdatedAt();
+    LocalDateTime getLikersUpdatedAt();
+}
@@ -0,0 +1,13 @@
+package com.sunless.app.repo;
+
+import java.time.LocalDateTime;
+
+public interface TimelineVersion {
+    Long getHeadId();
+    LocalDateTime getLastUpdatedAt();
+    Long getTotal();
+    LocalDateTime getAuthorsUpdatedAt();
+    LocalDateTime getCommentsUpdatedAt();
+    LocalDateTime getCommentAuthorsUpdatedAt();
+    LocalDateTime getLikersUpdatedAt();
+}
@@ -0,0 +1,13 @@
+package com.sunless.app.repo;
+
+/**
+ * The unique columns of a user, for rebuilding the availability filters without loading entities.
+ */
+public interface UserIdentifiers {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+}
@@ -1,17 +1,26 @@
 package com.sunless.app.repo;
 
 import com.sunless.app.mode.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepo extends JpaRepository<User, Long> {
+    // Resolved on every authenticated request, so served from the query cache
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
+
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
@@ -21,4 +30,22 @@ public interface UserRepo extends JpaRepository<User, Long> {
     
     @Query("SELECT u FROM User u WHERE u.isActive = true ORDER BY u.createdAt DESC")
     List<User> findActiveUsers();
+
+    @Query("SELECT COALESCE(u.updatedAt, u.createdAt) FROM User u WHERE u.id = :id")
+    Optional<LocalDateTime> findVersionById(@Param("id") Long id);
+
+    // Only the columns a message list shows, for many users in one query
+    @Query("SELECT u.id AS id, u.username AS username, u.firstName AS firstName, u.lastName AS lastName, " +
+           "u.profilePictureUrl AS profilePictureUrl FROM User u WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset page over the primary key
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserIdentifiers> findIdentifiersAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT u.profilePictureUrl FROM User u WHERE u.profilePictureUrl IN :urls")
+    List<String> findProfilePictureUrlsIn(@Param("urls") Collection<String> urls);
+
+    @Query("SELECT u.coverPictureUrl FROM User u WHERE u.coverPictureUrl IN :urls")
+    List<String> findCoverPictureUrlsIn(@Param("urls") Collection<String> urls);
 }
@@ -0,0 +1,9 @@
+package com.sunless.app.repo;
+
+public interface UserSummary {
+    Long getId();
+    String getUsername();
+    String getFirstName();
+    String getLastName();
+    String getProfilePictureUrl();
+}
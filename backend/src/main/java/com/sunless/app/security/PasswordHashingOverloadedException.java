@@ -0,0 +1,13 @@
+package com.sunless.app.security;
+
+/**
+ * Password hashing is saturated; the caller should answer 503 and let the client retry.
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    public static final int RETRY_AFTER_SECONDS = 2;
+
+    public PasswordHashingOverloadedException() {
+        super("Too many sign-ins in progress, please try again shortly");
+    }
+}
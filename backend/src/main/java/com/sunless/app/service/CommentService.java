@@ -1,5 +1,6 @@
 package com.sunless.app.service;
 
+import com.sunless.app.dto.CommentDTO;
 import com.sunless.app.mode.Comment;
 import com.sunless.app.mode.Post;
 import com.sunless.app.mode.User;
@@ -9,7 +10,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -68,14 +72,42 @@ public class CommentService {
         return savedComment;
     }
 
-    public List<Comment> getCommentsByPost(Long postId) {
+    /**
+     * Top-level comments of the post, newest first, each with its replies nested. The whole thread is one
+     * query and is assembled in memory, so the cost does not grow with the number of comments or their depth.
+     */
+    @Transactional(readOnly = true)
+    public List<CommentDTO> getCommentsByPost(Long postId) {
         Post post = postRepo.findById(postId).orElse(null);
         if (post == null) {
             throw new RuntimeException("Post not found");
         }
-        return commentRepo.findTopLevelCommentsByPost(post);
+
+        List<Comment> thread = commentRepo.findThreadByPost(post);
+        Map<Long, CommentDTO> byId = new HashMap<>();
+        for (Comment comment : thread) {
+            CommentDTO dto = CommentDTO.fromEntity(comment);
+            dto.setReplies(new ArrayList<>());
+            byId.put(comment.getId(), dto);
+        }
+
+        List<CommentDTO> topLevel = new ArrayList<>();
+        for (Comment comment : thread) {
+            CommentDTO dto = byId.get(comment.getId());
+            if (comment.getParentComment() == null) {
+                topLevel.add(dto);
+            } else {
+                // A reply to a deleted comment has no parent here and is dropped with it
+                CommentDTO parent = byId.get(comment.getParentComment().getId());
+                if (parent != null) {
+                    parent.getReplies().add(dto);
+                }
+            }
+        }
+        return topLevel;
     }
 
+    @Transactional(readOnly = true)
     public List<Comment> getRepliesToComment(Long commentId) {
         Comment parentComment = commentRepo.findById(commentId).orElse(null);
         if (parentComment == null) {
@@ -119,6 +151,7 @@ public class CommentService {
         return true;
     }
 
+    @Transactional(readOnly = true)
     public Long getCommentCount(Long postId) {
         Post post = postRepo.findById(postId).orElse(null);
         if (post == null) {
@@ -0,0 +1,23 @@
+package com.sunless.app.service;
+
+import org.springframework.http.CacheControl;
+
+import java.util.StringJoiner;
+
+// Builds strong ETag values from the version columns of a resource, without touching its body
+public final class ETags {
+
+    // Sent with ETagged responses: clients may keep a copy but must revalidate it with If-None-Match
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    public static String of(String kind, Object... versionParts) {
+        StringJoiner joiner = new StringJoiner("-", "\"" + kind + "-", "\"");
+        for (Object part : versionParts) {
+            joiner.add(String.valueOf(part));
+        }
+        return joiner.toString();
+    }
+}
@@ -4,17 +4,23 @@ import com.sunless.app.dto.PostDTO;
 import com.sunless.app.mode.Post;
 import com.sunless.app.mode.User;
 import com.sunless.app.repo.PostRepo;
+import com.sunless.app.repo.TimelineVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 public class FeedService {
 
     @Autowired
@@ -26,50 +32,146 @@ public class FeedService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
     public Page<PostDTO> getNewsFeed(Long userId, int page, int size) {
+        List<User> following = getFeedAuthors(userId);
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        
+        Page<Post> posts = postRepo.findNewsFeed(following, userService.findById(userId), pageable);
+        // Every author here is either followed or the viewer, so the follow flags need no query
+        Set<Long> followed = following.stream()
+                .map(User::getId)
+                .filter(id -> !id.equals(userId))
+                .collect(Collectors.toSet());
+        return withViewerState(posts.map(PostDTO::fromEntity), userId, followed);
+    }
+
+    // Aggregates only, so revalidating a news feed page loads no user or follow rows
+    public String getNewsFeedETag(Long userId, int page, int size) {
+        return timelineETag("news-" + userId + "-" + followService.getFollowingVersion(userId), page, size,
+                postRepo.findNewsTimelineVersion(userId));
+    }
+
+    public String getExploreFeedETag(int page, int size, Long viewerId) {
+        return timelineETag("explore" + viewerTag(viewerId), page, size, postRepo.findPublicTimelineVersion());
+    }
+
+    public String getTrendingPostsETag(int page, int size, Long viewerId) {
+        return timelineETag("trending" + viewerTag(viewerId), page, size, postRepo.findPublicTimelineVersion());
+    }
+
+    public String getPostsByUserETag(Long userId, int page, int size, Long viewerId) {
         User user = userService.findById(userId);
         if (user == null) {
-            throw new RuntimeException("User not found for id: " + userId);
+            return null;
         }
+        return timelineETag("user-posts-" + userId + viewerTag(viewerId), page, size,
+                postRepo.findTimelineVersionByUser(user));
+    }
 
-        // Get list of users that the current user follows
-        // Note: streams toList() may be unmodifiable; copy into a mutable list before adding
-        List<User> following = new java.util.ArrayList<>(followService.getFollowing(userId));
-        following.add(user); // Include user's own posts
+    // Public feeds look the same to everyone, so concurrent requests for a page share one load;
+    // only the viewer's flags are added per request. Runs outside a transaction so waiters hold no connection.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Page<PostDTO> getExploreFeed(int page, int size, Long viewerId) {
+        Page<PostDTO> posts = singleFlight.executeReadOnly("FeedService.getExploreFeed", List.of(page, size), () -> {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+            return postRepo.findByIsActiveTrueAndPrivacyOrderByCreatedAtDesc(Post.PostPrivacy.PUBLIC, pageable)
+                    .map(PostDTO::fromEntity);
+        });
+        return withViewerState(posts.map(PostDTO::copy), viewerId, null);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Page<PostDTO> getTrendingPosts(int page, int size, Long viewerId) {
+        Page<PostDTO> posts = singleFlight.executeReadOnly("FeedService.getTrendingPosts", List.of(page, size), () -> {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("likeCount").descending());
+            return postRepo.findByIsActiveTrueAndPrivacyOrderByLikeCountDesc(Post.PostPrivacy.PUBLIC, pageable)
+                    .map(PostDTO::fromEntity);
+        });
+        return withViewerState(posts.map(PostDTO::copy), viewerId, null);
+    }
+
+    public Page<PostDTO> getPostsByUser(Long userId, int page, int size, Long viewerId) {
+        User user = userService.findById(userId);
+        if (user == null) {
+            throw new RuntimeException("User not found");
+        }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        
-        Page<Post> posts = postRepo.findByUserInAndIsActiveTrueOrderByCreatedAtDesc(following, pageable);
-        return posts.map(PostDTO::fromEntity);
+        Page<Post> posts = postRepo.findByUserAndIsActiveTrueAndPrivacyInOrderByCreatedAtDesc(
+                user, visiblePrivacies(userId, viewerId), pageable);
+        return withViewerState(posts.map(PostDTO::fromEntity), viewerId, null);
     }
 
-    public Page<PostDTO> getExploreFeed(int page, int size) {
+    public Page<PostDTO> searchPosts(String query, int page, int size, Long viewerId) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Post> posts = postRepo.findByIsActiveTrueOrderByCreatedAtDesc(pageable);
-        return posts.map(PostDTO::fromEntity);
+        Page<Post> posts = postRepo.findByContentContainingIgnoreCaseAndIsActiveTrueAndPrivacyOrderByCreatedAtDesc(
+                query, Post.PostPrivacy.PUBLIC, pageable);
+        return withViewerState(posts.map(PostDTO::fromEntity), viewerId, null);
     }
 
-    public Page<PostDTO> getTrendingPosts(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("likeCount").descending());
-        Page<Post> posts = postRepo.findByIsActiveTrueOrderByLikeCountDesc(pageable);
-        return posts.map(PostDTO::fromEntity);
+    // One follow check for the whole page rather than one per post
+    private Set<Post.PostPrivacy> visiblePrivacies(Long authorId, Long viewerId) {
+        if (authorId.equals(viewerId)) {
+            return EnumSet.allOf(Post.PostPrivacy.class);
+        }
+        if (viewerId != null && followService.isFollowing(viewerId, authorId)) {
+            return EnumSet.of(Post.PostPrivacy.PUBLIC, Post.PostPrivacy.FRIENDS);
+        }
+        return EnumSet.of(Post.PostPrivacy.PUBLIC);
     }
 
-    public Page<PostDTO> getPostsByUser(Long userId, int page, int size) {
+    /**
+     * Maps a page to DTOs carrying the viewer's like and follow flags, looked up with one IN query each
+     * (the follow lookup is skipped when the caller already knows the followed authors).
+     */
+    private Page<PostDTO> withViewerState(Page<PostDTO> dtos, Long viewerId, Set<Long> followedAuthorIds) {
+        if (viewerId == null || dtos.isEmpty()) {
+            return dtos;
+        }
+
+        Set<Long> liked = likeService.getLikedPostIds(viewerId,
+                dtos.stream().map(PostDTO::getId).toList());
+        Set<Long> followed = followedAuthorIds != null ? followedAuthorIds
+                : followService.getFollowedUserIds(viewerId,
+                        dtos.stream().filter(dto -> dto.getAuthor() != null)
+                                .map(dto -> dto.getAuthor().getId()).distinct().toList());
+        for (PostDTO dto : dtos) {
+            dto.setLikedByViewer(liked.contains(dto.getId()));
+            dto.setAuthorFollowedByViewer(dto.getAuthor() != null && followed.contains(dto.getAuthor().getId()));
+        }
+        return dtos;
+    }
+
+    // Feeds embed the viewer's follow flags (and FRIENDS visibility), so their ETags must change on every
+    // follow or unfollow; a count alone would miss unfollowing one author and following another
+    private String viewerTag(Long viewerId) {
+        return viewerId == null ? "" : "-viewer-" + viewerId + "-" + followService.getFollowingVersion(viewerId);
+    }
+
+    private List<User> getFeedAuthors(Long userId) {
         User user = userService.findById(userId);
         if (user == null) {
-            throw new RuntimeException("User not found");
+            throw new RuntimeException("User not found for id: " + userId);
         }
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Post> posts = postRepo.findByUserAndIsActiveTrueOrderByCreatedAtDesc(user, pageable);
-        return posts.map(PostDTO::fromEntity);
+        // Get list of users that the current user follows
+        // Note: streams toList() may be unmodifiable; copy into a mutable list before adding
+        List<User> following = new java.util.ArrayList<>(followService.getFollowing(userId));
+        following.add(user); // Include user's own posts
+        return following;
     }
 
-    public Page<PostDTO> searchPosts(String query, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Post> posts = postRepo.findByContentContainingIgnoreCaseAndIsActiveTrueOrderByCreatedAtDesc(query, pageable);
-        return posts.map(PostDTO::fromEntity);
+    private String timelineETag(String timeline, int page, int size, TimelineVersion version) {
+        return ETags.of(timeline, page, size, version.getHeadId(), version.getLastUpdatedAt(), version.getTotal(),
+                version.getAuthorsUpdatedAt(), version.getCommentsUpdatedAt(), version.getCommentAuthorsUpdatedAt(),
+                version.getLikersUpdatedAt());
     }
 
     public Long getCurrentUserId(String username) {
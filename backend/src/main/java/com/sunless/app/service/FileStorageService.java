@@ -1,54 +1,90 @@
 package com.sunless.app.service;
 
+import com.sunless.app.storage.StorageBackend;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class FileStorageService {
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
+    // Every upload is an image; the key's extension decides how the file is served back
+    private static final Set<String> ALLOWED_EXTENSIONS = Set.of(".jpg", ".jpeg", ".png", ".gif", ".webp");
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Value("${app.storage.presign-ttl:PT10M}")
+    private Duration presignTtl;
+
+    // Direct uploads skip the multipart limit, so they are held to the same size
+    @Value("${spring.servlet.multipart.max-file-size:10MB}")
+    private DataSize maxUploadSize;
 
     public String storeFile(MultipartFile file, String subDirectory) {
-        try {
-            // Create directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir, subDirectory);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            }
-            String fileName = UUID.randomUUID().toString() + fileExtension;
-
-            // Copy file to target location
-            Path targetLocation = uploadPath.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            return subDirectory + "/" + fileName;
+        String fileName = subDirectory + "/" + generateFileName(file.getOriginalFilename());
+        try (InputStream content = file.getInputStream()) {
+            storageBackend.store(fileName, content, file.getSize(), file.getContentType());
+            return fileName;
         } catch (IOException ex) {
             throw new RuntimeException("Could not store file " + file.getOriginalFilename(), ex);
         }
     }
 
+    // Empty when the storage backend cannot take uploads directly
+    public Optional<DirectUpload> createDirectUpload(String subDirectory, String originalFilename, String contentType,
+                                                     long size) {
+        if (size <= 0 || size > maxUploadSize.toBytes()) {
+            throw new RuntimeException("File size must be between 1 byte and " + maxUploadSize.toMegabytes() + "MB");
+        }
+        String fileName = subDirectory + "/" + generateFileName(originalFilename);
+        return storageBackend.presignUpload(fileName, contentType, size, presignTtl)
+                .map(upload -> new DirectUpload(getFileUrl(fileName), upload.uploadUrl(), upload.method(), upload.expiresAt()));
+    }
+
+    public String getFileUrl(String fileName) {
+        return storageBackend.getUrl(fileName);
+    }
+
+    public List<StorageBackend.StoredObject> listFiles() {
+        try {
+            return storageBackend.list();
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not list stored files", ex);
+        }
+    }
+
     public void deleteFile(String fileName) {
         try {
-            Path filePath = Paths.get(uploadDir, fileName);
-            Files.deleteIfExists(filePath);
+            storageBackend.delete(fileName);
         } catch (IOException ex) {
             throw new RuntimeException("Could not delete file " + fileName, ex);
         }
     }
+
+    private String generateFileName(String originalFilename) {
+        String fileExtension = "";
+        if (originalFilename != null && originalFilename.contains(".")) {
+            fileExtension = originalFilename.substring(originalFilename.lastIndexOf(".")).toLowerCase(Locale.ROOT);
+        }
+        if (!ALLOWED_EXTENSIONS.contains(fileExtension)) {
+            throw new RuntimeException("Only JPEG, PNG, GIF and WebP images are allowed");
+        }
+        return UUID.randomUUID().toString() + fileExtension;
+    }
+
+    public record DirectUpload(String fileUrl, String uploadUrl, String method, Instant expiresAt) {
+    }
 }
@@ -2,12 +2,18 @@ package com.sunless.app.service;
 
 import com.sunless.app.mode.Follow;
 import com.sunless.app.mode.User;
+import com.sunless.app.repo.FollowCounts;
 import com.sunless.app.repo.FollowRepo;
+import com.sunless.app.repo.FollowingVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -68,6 +74,7 @@ public class FollowService {
         return true;
     }
 
+    @Transactional(readOnly = true)
     public List<User> getFollowers(Long userId) {
         User user = userService.findById(userId);
         if (user == null) {
@@ -78,6 +85,7 @@ public class FollowService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<User> getFollowing(Long userId) {
         User user = userService.findById(userId);
         if (user == null) {
@@ -88,6 +96,7 @@ public class FollowService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public boolean isFollowing(Long followerId, Long followingId) {
         User follower = userService.findById(followerId);
         User following = userService.findById(followingId);
@@ -99,6 +108,28 @@ public class FollowService {
         return followRepo.existsByFollowerAndFollowing(follower, following);
     }
 
+    // Which of userIds the follower follows, in one IN query
+    @Transactional(readOnly = true)
+    public Set<Long> getFollowedUserIds(Long followerId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(followRepo.findFollowedUserIds(followerId, userIds));
+    }
+
+    // A version of everyone the follower follows, from one aggregate over follow ids (no rows loaded)
+    @Transactional(readOnly = true)
+    public String getFollowingVersion(Long followerId) {
+        FollowingVersion version = followRepo.findFollowingVersion(followerId);
+        return version.getLastFollowId() + "-" + version.getTotal();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<FollowCounts> getFollowCounts(Long userId) {
+        return followRepo.findFollowCounts(userId);
+    }
+
+    @Transactional(readOnly = true)
     public Long getFollowerCount(Long userId) {
         User user = userService.findById(userId);
         if (user == null) {
@@ -107,6 +138,7 @@ public class FollowService {
         return followRepo.countFollowers(user);
     }
 
+    @Transactional(readOnly = true)
     public Long getFollowingCount(Long userId) {
         User user = userService.findById(userId);
         if (user == null) {
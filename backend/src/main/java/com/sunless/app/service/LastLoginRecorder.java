@@ -0,0 +1,105 @@
+package com.sunless.app.service;
+
+import com.sunless.app.mode.User;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for {@code users.last_login_at}. Logins only record the latest timestamp per user
+ * in memory; a scheduled flush writes them out as one JDBC batch of single-column updates, so the login
+ * path does no user load or full-row save and {@code updated_at} (the user's ETag) is left alone.
+ * Pending timestamps are lost if the process dies between flushes.
+ */
+@Service
+public class LastLoginRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginRecorder.class);
+
+    // Guarded so a late flush from another node never moves the timestamp backwards
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    // Held for a whole flush, so the one at shutdown waits for a scheduled flush in progress and then
+    // also writes whatever that flush put back after a failure
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.last-login.batch-size:500}")
+    private int batchSize;
+
+    public void record(Long userId, LocalDateTime at) {
+        pending.merge(userId, at, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${app.last-login.flush-interval:PT10S}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    public int flush() {
+        flushLock.lock();
+        try {
+            return flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int flushPending() {
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime at = pending.remove(userId);
+            if (at != null) {
+                batch.add(Map.entry(userId, at));
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batchSize, (statement, entry) -> {
+                Timestamp at = Timestamp.valueOf(entry.getValue());
+                statement.setTimestamp(1, at);
+                statement.setLong(2, entry.getKey());
+                statement.setTimestamp(3, at);
+            });
+        } catch (RuntimeException ex) {
+            // Put the batch back (keeping anything newer recorded meanwhile) and retry on the next flush
+            batch.forEach(entry -> record(entry.getKey(), entry.getValue()));
+            log.warn("Could not flush {} last-login timestamp(s)", batch.size(), ex);
+            return 0;
+        }
+
+        // The update bypassed Hibernate, so drop just these users from the second-level cache
+        batch.forEach(entry -> entityManagerFactory.getCache().evict(User.class, entry.getKey()));
+        return batch.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -1,13 +1,21 @@
 package com.sunless.app.service;
 
-import com.sunless.app.mode.Like;
 import com.sunless.app.mode.Post;
+import com.sunless.app.mode.SnowflakeIdGenerator;
 import com.sunless.app.mode.User;
 import com.sunless.app.repo.LikeRepo;
 import com.sunless.app.repo.PostRepo;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -25,32 +33,28 @@ public class LikeService {
     @Autowired
     private NotificationService notificationService;
 
-    public boolean likePost(Long userId, Long postId) {
-        User user = userService.findById(userId);
-        Post post = postRepo.findById(postId).orElse(null);
-
-        if (user == null || post == null) {
-            throw new RuntimeException("User or post not found");
-        }
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
-        if (likeRepo.existsByUserAndPost(user, post)) {
+    // Id-only path: one conditional insert, and the counter moves only if a row was actually added
+    public boolean likePost(Long userId, Long postId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (likeRepo.insertIfAbsent(SnowflakeIdGenerator.nextId(), userId, postId, now) == 0) {
+            if (!postRepo.existsById(postId) || userService.findById(userId) == null) {
+                throw new RuntimeException("User or post not found");
+            }
             return false; // Already liked
         }
 
-        Like like = new Like();
-        like.setUser(user);
-        like.setPost(post);
-        likeRepo.save(like);
-
-        // Update post like count
-        post.setLikeCount(post.getLikeCount() + 1);
-        postRepo.save(post);
+        postRepo.adjustLikeCount(postId, 1, now);
+        evictAfterCommit(postId);
 
         // Create notification (don't notify if user likes their own post)
-        if (!user.getId().equals(post.getUser().getId())) {
+        Post post = postRepo.findById(postId).orElseThrow();
+        if (!userId.equals(post.getUser().getId())) {
             notificationService.createNotification(
                 post.getUser(),
-                user,
+                userService.findById(userId),
                 "liked your post",
                 NotificationService.NotificationType.LIKE,
                 post,
@@ -62,22 +66,30 @@ public class LikeService {
     }
 
     public boolean unlikePost(Long userId, Long postId) {
-        User user = userService.findById(userId);
-        Post post = postRepo.findById(postId).orElse(null);
-
-        if (user == null || post == null) {
-            throw new RuntimeException("User or post not found");
+        if (likeRepo.deleteByUserIdAndPostId(userId, postId) == 0) {
+            if (!postRepo.existsById(postId)) {
+                throw new RuntimeException("User or post not found");
+            }
+            return false; // Was not liked
         }
 
-        likeRepo.deleteByUserAndPost(user, post);
-
-        // Update post like count
-        post.setLikeCount(Math.max(0, post.getLikeCount() - 1));
-        postRepo.save(post);
-
+        postRepo.adjustLikeCount(postId, -1, LocalDateTime.now());
+        evictAfterCommit(postId);
         return true;
     }
 
+    // adjustLikeCount bypasses the second-level cache; evicting after commit keeps a concurrent
+    // reader from putting back the row as it was before the update
+    private void evictAfterCommit(Long postId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                entityManagerFactory.getCache().evict(Post.class, postId);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
     public boolean isLiked(Long userId, Long postId) {
         User user = userService.findById(userId);
         Post post = postRepo.findById(postId).orElse(null);
@@ -89,6 +101,16 @@ public class LikeService {
         return likeRepo.existsByUserAndPost(user, post);
     }
 
+    // One IN query for a whole page of posts instead of an isLiked call per post
+    @Transactional(readOnly = true)
+    public Set<Long> getLikedPostIds(Long userId, Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(likeRepo.findLikedPostIds(userId, postIds));
+    }
+
+    @Transactional(readOnly = true)
     public Long getLikeCount(Long postId) {
         Post post = postRepo.findById(postId).orElse(null);
         if (post == null) {
@@ -1,17 +1,28 @@
 package com.sunless.app.service;
 
+import com.sunless.app.dto.CursorPage;
+import com.sunless.app.dto.MessageDTO;
+import com.sunless.app.dto.MessageListDTO;
+import com.sunless.app.dto.ParticipantDTO;
+import com.sunless.app.dto.PresenceDTO;
 import com.sunless.app.mode.Message;
 import com.sunless.app.mode.User;
+import com.sunless.app.presence.PresenceTracker;
 import com.sunless.app.repo.MessageRepo;
+import com.sunless.app.repo.UserSummary;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -23,6 +34,9 @@ public class MessageService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PresenceTracker presenceTracker;
+
     public Message sendMessage(Long senderId, Long receiverId, String content) {
         User sender = userService.findById(senderId);
         User receiver = userService.findById(receiverId);
@@ -39,18 +53,37 @@ public class MessageService {
         return messageRepo.save(message);
     }
 
-    public Page<Message> getMessagesBetweenUsers(Long userId1, Long userId2, int page, int size) {
+    /**
+     * Pages backwards from the newest message: pass the previous page's {@code nextCursor} as
+     * {@code beforeId}, or null for the latest page. Each page is returned oldest first.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Message> getMessagesBetweenUsers(Long userId1, Long userId2, Long beforeId, int size) {
         User user1 = userService.findById(userId1);
         User user2 = userService.findById(userId2);
         
         if (user1 == null || user2 == null) {
             throw new RuntimeException("One or both users not found");
         }
+        if (size < 1) {
+            throw new RuntimeException("Page size must be at least 1");
+        }
         
-        Pageable pageable = PageRequest.of(page, size);
-        return messageRepo.findMessagesBetweenUsers(user1, user2, pageable);
+        // One extra row tells whether an older page exists without a COUNT
+        List<Message> messages = new ArrayList<>(messageRepo.findConversationBefore(
+                Message.conversationKey(userId1, userId2),
+                beforeId == null ? Long.MAX_VALUE : beforeId,
+                PageRequest.of(0, size + 1)));
+        boolean hasMore = messages.size() > size;
+        if (hasMore) {
+            messages.remove(size);
+        }
+        Long nextCursor = hasMore ? messages.get(size - 1).getId() : null;
+        Collections.reverse(messages);
+        return new CursorPage<>(messages, nextCursor, hasMore);
     }
 
+    @Transactional(readOnly = true)
     public List<User> getConversationPartners(Long userId) {
         User user = userService.findById(userId);
         if (user == null) {
@@ -60,6 +93,19 @@ public class MessageService {
         return messageRepo.findConversationPartners(user);
     }
 
+    /**
+     * Online state of everyone the user has a conversation with: one id query, then in-memory lookups.
+     */
+    @Transactional(readOnly = true)
+    public List<PresenceDTO> getConversationPartnerPresence(Long userId) {
+        List<PresenceDTO> presence = new ArrayList<>();
+        for (Long partnerId : messageRepo.findConversationPartnerIds(userId)) {
+            presence.add(PresenceDTO.of(partnerId, presenceTracker.lastSeen(partnerId)));
+        }
+        return presence;
+    }
+
+    @Transactional(readOnly = true)
     public Long getUnreadMessageCount(Long userId) {
         User user = userService.findById(userId);
         if (user == null) {
@@ -69,6 +115,7 @@ public class MessageService {
         return messageRepo.countUnreadMessages(user);
     }
 
+    @Transactional(readOnly = true)
     public List<Message> getUnreadMessages(Long userId) {
         User user = userService.findById(userId);
         if (user == null) {
@@ -78,6 +125,7 @@ public class MessageService {
         return messageRepo.findUnreadMessages(user);
     }
 
+    @Transactional(readOnly = true)
     public List<Message> getLatestMessagesInConversations(Long userId) {
         User user = userService.findById(userId);
         if (user == null) {
@@ -87,6 +135,34 @@ public class MessageService {
         return messageRepo.findLatestMessagesInConversations(user);
     }
 
+    /**
+     * Maps messages to DTOs and resolves every sender and receiver once, with one batched query
+     * for the whole list instead of a user load per message.
+     */
+    @Transactional(readOnly = true)
+    public MessageListDTO toListDTO(List<Message> messages) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        List<MessageDTO> content = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            MessageDTO dto = MessageDTO.fromEntity(message);
+            userIds.add(dto.getSenderId());
+            userIds.add(dto.getReceiverId());
+            content.add(dto);
+        }
+
+        Map<Long, ParticipantDTO> participants = new LinkedHashMap<>();
+        for (UserSummary summary : userService.findSummaries(userIds)) {
+            participants.put(summary.getId(), ParticipantDTO.fromSummary(summary));
+        }
+        return MessageListDTO.of(content, participants);
+    }
+
+    @Transactional(readOnly = true)
+    public MessageListDTO toListDTO(CursorPage<Message> page) {
+        MessageListDTO list = toListDTO(page.content());
+        return new MessageListDTO(list.content(), list.participants(), page.nextCursor(), page.hasMore());
+    }
+
     public void markMessagesAsRead(Long senderId, Long receiverId) {
         User sender = userService.findById(senderId);
         User receiver = userService.findById(receiverId);
@@ -98,6 +174,7 @@ public class MessageService {
         messageRepo.markMessagesAsRead(sender, receiver);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Message> getMessageById(Long messageId) {
         return messageRepo.findById(messageId);
     }
@@ -34,6 +34,7 @@ public class NotificationService {
         return notificationRepo.save(notification);
     }
 
+    @Transactional(readOnly = true)
     public List<Notification> getUserNotifications(Long userId) {
         User user = userService.findById(userId);
         if (user == null) {
@@ -42,6 +43,7 @@ public class NotificationService {
         return notificationRepo.findByUserOrderByCreatedAtDesc(user);
     }
 
+    @Transactional(readOnly = true)
     public List<Notification> getUnreadNotifications(Long userId) {
         User user = userService.findById(userId);
         if (user == null) {
@@ -50,6 +52,7 @@ public class NotificationService {
         return notificationRepo.findByUserAndIsReadFalseOrderByCreatedAtDesc(user);
     }
 
+    @Transactional(readOnly = true)
     public Long getUnreadCount(Long userId) {
         User user = userService.findById(userId);
         if (user == null) {
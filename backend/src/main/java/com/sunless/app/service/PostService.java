@@ -1,5 +1,6 @@
 package com.sunless.app.service;
 
+import com.sunless.app.dto.PostDTO;
 import com.sunless.app.repo.PostRepo;
 import com.sunless.app.repo.UserRepo;
 import com.sunless.app.mode.Post;
@@ -10,6 +11,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -24,6 +26,12 @@ public class PostService {
     @Autowired
     private UserRepo userRepo;
 
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
     public Post createPost(Long userId, Post post) {
         User user = userRepo.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -31,10 +39,63 @@ public class PostService {
         return postRepo.save(post);
     }
 
+    @Transactional(readOnly = true)
     public Post getPostById(Long postId) {
         return postRepo.findById(postId).orElse(null);
     }
 
+    // Null when the post is missing or hidden from the viewer, so callers answer 404 either way
+    @Transactional(readOnly = true)
+    public Post getVisiblePost(Long postId, Long viewerId) {
+        Post post = getPostById(postId);
+        return post != null && canView(post, viewerId) ? post : null;
+    }
+
+    /**
+     * The post as a DTO for a response tagged {@code etag} (from {@link #getVisiblePostETag}), or null when it
+     * is gone or hidden from the viewer. Concurrent requests that read the same version share one load (a viral
+     * post is fetched once, not once per request). Keying the load on the ETag keeps a request from joining a
+     * load that started before the version it read, so the body is never older than its ETag. Visibility is
+     * checked again on what was loaded. The returned DTO may be shared and must not be modified.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PostDTO getVisiblePostDTO(Long postId, Long viewerId, String etag) {
+        PostDTO post = singleFlight.executeReadOnly("PostService.getPostById", List.of(postId, etag),
+                () -> PostDTO.fromEntity(getPostById(postId)));
+        if (post == null) {
+            return null;
+        }
+        return canView(post.getAuthor().getId(), Post.PostPrivacy.valueOf(post.getPrivacy()), viewerId) ? post : null;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean canView(Post post, Long viewerId) {
+        return canView(post.getUser().getId(), post.getPrivacy(), viewerId);
+    }
+
+    private boolean canView(Long authorId, Post.PostPrivacy privacy, Long viewerId) {
+        if (authorId.equals(viewerId)) {
+            return true;
+        }
+        return switch (privacy) {
+            case PUBLIC -> true;
+            case FRIENDS -> viewerId != null && followService.isFollowing(viewerId, authorId);
+            case PRIVATE -> false;
+        };
+    }
+
+    // Null when the post is missing or hidden from the viewer; needs no load, so a matching If-None-Match is cheap
+    @Transactional(readOnly = true)
+    public String getVisiblePostETag(Long postId, Long viewerId) {
+        return postRepo.findVersionById(postId)
+                .filter(version -> canView(version.getAuthorId(), version.getPrivacy(), viewerId))
+                .map(version -> ETags.of("post", postId, version.getUpdatedAt(), version.getLikeCount(),
+                        version.getCommentCount(), version.getShareCount(), version.getActive(),
+                        version.getAuthorUpdatedAt(), version.getCommentsUpdatedAt(),
+                        version.getCommentAuthorsUpdatedAt(), version.getLikersUpdatedAt()))
+                .orElse(null);
+    }
+
     public Post updatePost(Post post) {
         return postRepo.save(post);
     }
@@ -49,12 +110,14 @@ public class PostService {
         return true;
     }
 
+    @Transactional(readOnly = true)
     public List<Post> getAllPosts(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Post> postPage = postRepo.findByIsActiveTrueOrderByCreatedAtDesc(pageable);
+        Page<Post> postPage = postRepo.findByIsActiveTrueAndPrivacyOrderByCreatedAtDesc(Post.PostPrivacy.PUBLIC, pageable);
         return postPage.getContent();
     }
 
+    @Transactional(readOnly = true)
     public List<Post> getPostsByUser(Long userId, int page, int size) {
         User user = userRepo.findById(userId).orElse(null);
         if (user == null) {
@@ -66,10 +129,12 @@ public class PostService {
         return postPage.getContent();
     }
 
+    @Transactional(readOnly = true)
     public List<Post> getAllPosts() {
         return postRepo.findAllActivePosts();
     }
 
+    @Transactional(readOnly = true)
     public List<Post> getPostsByUser(Long userId) {
         User user = userRepo.findById(userId).orElse(null);
         if (user == null) {
@@ -0,0 +1,160 @@
+package com.sunless.app.service;
+
+import com.sunless.app.dto.PostDTO;
+import com.sunless.app.mode.User;
+import com.sunless.app.repo.FollowCounts;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds a profile page from its independent parts (user, follow state, follow counts, first page of posts)
+ * loaded in parallel, so the page costs the slowest lookup rather than the sum of them. Each part runs in
+ * its own transaction on a small dedicated pool, which bounds how many pooled connections profile loads can
+ * hold at once. The parts are scoped to the call: the first failure or the deadline ends it, and the
+ * unfinished parts are interrupted, which drops queued ones and frees a part waiting for a connection.
+ */
+@Service
+public class ProfileService {
+
+    /**
+     * A loaded profile. {@code isFollowing} is null on the viewer's own profile.
+     */
+    public record Profile(User user, Boolean isFollowing, long followerCount, long followingCount,
+                          Page<PostDTO> posts) {
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private FeedService feedService;
+
+    @Value("${app.profile.timeout:PT2S}")
+    private Duration timeout;
+
+    // Parts see the caller's security context (used for read-your-writes routing)
+    private final ExecutorService executor;
+
+    public ProfileService(@Value("${app.profile.threads:8}") int threads,
+                          @Value("${app.profile.queue-capacity:64}") int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "profile-part-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor = new DelegatingSecurityContextExecutorService(pool);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return the profile, or null if the user does not exist
+     * @throws TimeoutException if the parts did not all finish within {@code app.profile.timeout}, or could
+     *                          not be queued because the pool is saturated
+     */
+    public Profile getProfile(Long userId, Long viewerId, int page, int size) throws TimeoutException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+        List<Future<?>> parts = new ArrayList<>();
+        try {
+            Future<User> user = fork(completion, parts, () -> userService.findById(userId));
+            Future<Boolean> isFollowing = viewerId == null || viewerId.equals(userId)
+                    ? null
+                    : fork(completion, parts, () -> followService.isFollowing(viewerId, userId));
+            Future<Optional<FollowCounts>> counts = fork(completion, parts, () -> followService.getFollowCounts(userId));
+            Future<Page<PostDTO>> posts = fork(completion, parts,
+                    () -> feedService.getPostsByUser(userId, page, size, viewerId));
+
+            try {
+                awaitAll(completion, parts.size(), deadline);
+            } catch (RuntimeException ex) {
+                // A missing user also fails the posts lookup; report that as not found, not as the posts error
+                if (await(user, deadline) == null) {
+                    return null;
+                }
+                throw ex;
+            }
+
+            User profileUser = await(user, deadline);
+            if (profileUser == null) {
+                return null;
+            }
+            FollowCounts followCounts = await(counts, deadline).orElse(null);
+            return new Profile(profileUser, isFollowing == null ? null : await(isFollowing, deadline),
+                    followCounts == null ? 0 : followCounts.getFollowers(),
+                    followCounts == null ? 0 : followCounts.getFollowing(), await(posts, deadline));
+        } catch (RejectedExecutionException ex) {
+            // The queue is full, so waiting our turn would outlast the deadline anyway
+            throw new TimeoutException("Profile pool is saturated");
+        } finally {
+            parts.forEach(part -> part.cancel(true));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Future<T> fork(CompletionService<Object> completion, List<Future<?>> parts, Callable<T> task) {
+        Future<T> part = (Future<T>) completion.submit(task::call);
+        parts.add(part);
+        return part;
+    }
+
+    // Returns when every part has completed, or throws as soon as one fails
+    private void awaitAll(CompletionService<Object> completion, int parts, long deadline) throws TimeoutException {
+        for (int i = 0; i < parts; i++) {
+            Future<Object> done;
+            try {
+                done = completion.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while loading profile", ex);
+            }
+            if (done == null) {
+                throw new TimeoutException();
+            }
+            await(done, deadline);
+        }
+    }
+
+    private <T> T await(Future<T> future, long deadline) throws TimeoutException {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading profile", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(ex.getCause());
+        }
+    }
+}
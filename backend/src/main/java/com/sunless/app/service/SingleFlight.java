@@ -0,0 +1,110 @@
+package com.sunless.app.service;
+
+import com.sunless.app.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads: the first caller for a (method, args) key runs the loader and
+ * every caller arriving while it runs waits for and shares that result (or exception). Nothing is kept
+ * once the call completes, so this adds no staleness beyond the length of one load.
+ * Call it outside any transaction, so waiting callers do not each hold a pooled connection, and only
+ * share results that callers do not mutate.
+ */
+@Component
+public class SingleFlight {
+
+    private record Key(String method, List<?> args) {
+    }
+
+    private record Outcomes(Counter loaded, Counter shared) {
+    }
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Outcomes> outcomes = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Only present with a read replica; a user who just wrote must not join a load that began before the write
+    @Autowired(required = false)
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    // The usual entry point: the leader loads inside its own read-only transaction, followers wait outside one
+    public <T> T executeReadOnly(String method, List<?> args, Supplier<T> loader) {
+        return execute(method, args, () -> readOnlyTransaction.execute(status -> loader.get()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String method, List<?> args, Supplier<T> loader) {
+        Outcomes outcome = outcomes.computeIfAbsent(method, this::register);
+        if (readYourWritesTracker != null && readYourWritesTracker.recentlyWrote()) {
+            return loader.get();
+        }
+
+        Key key = new Key(method, args);
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            outcome.shared().increment();
+            return (T) await(existing);
+        }
+
+        outcome.loaded().increment();
+        try {
+            T value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private Outcomes register(String method) {
+        return new Outcomes(counter(method, "loaded"), counter(method, "shared"));
+    }
+
+    private Counter counter(String method, String outcome) {
+        return Counter.builder("app.singleflight.calls")
+                .description("Coalesced reads by method, split into callers that loaded and callers that shared a result")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,94 @@
+package com.sunless.app.service;
+
+import com.sunless.app.repo.PostRepo;
+import com.sunless.app.repo.UserRepo;
+import com.sunless.app.storage.StorageBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mark-and-sweep collector for stored uploads that are no longer referenced by any user
+ * avatar/cover or post media URL. Files younger than the grace period are never touched,
+ * so an upload that is about to be attached to a post survives.
+ */
+@Service
+@ConditionalOnProperty(name = "app.upload.gc.enabled", havingValue = "true", matchIfMissing = true)
+public class UploadGarbageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadGarbageCollector.class);
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PostRepo postRepo;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Value("${app.upload.gc.grace-period:PT24H}")
+    private Duration gracePeriod;
+
+    @Value("${app.upload.gc.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.upload.gc.cron:0 30 3 * * *}")
+    public void scheduledCollect() {
+        int deleted = collect();
+        if (deleted > 0) {
+            log.info("Upload GC removed {} unreferenced file(s)", deleted);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public int collect() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        List<StorageBackend.StoredObject> candidates = fileStorageService.listFiles().stream()
+                .filter(object -> object.lastModified().isBefore(cutoff))
+                .toList();
+
+        int deleted = 0;
+        for (int from = 0; from < candidates.size(); from += batchSize) {
+            List<StorageBackend.StoredObject> batch = candidates.subList(from, Math.min(from + batchSize, candidates.size()));
+            Map<String, String> keysByUrl = new HashMap<>();
+            batch.forEach(object -> keysByUrl.put(fileStorageService.getFileUrl(object.key()), object.key()));
+
+            Set<String> referenced = findReferenced(keysByUrl.keySet());
+            for (Map.Entry<String, String> entry : keysByUrl.entrySet()) {
+                if (!referenced.contains(entry.getKey())) {
+                    try {
+                        fileStorageService.deleteFile(entry.getValue());
+                        deleted++;
+                    } catch (RuntimeException ex) {
+                        log.warn("Upload GC could not delete {}", entry.getValue(), ex);
+                    }
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private Set<String> findReferenced(Collection<String> urls) {
+        Set<String> referenced = new HashSet<>();
+        referenced.addAll(userRepo.findProfilePictureUrlsIn(urls));
+        referenced.addAll(userRepo.findCoverPictureUrlsIn(urls));
+        referenced.addAll(postRepo.findImageUrlsIn(urls));
+        referenced.addAll(postRepo.findVideoUrlsIn(urls));
+        return referenced;
+    }
+}
@@ -0,0 +1,206 @@
+package com.sunless.app.service;
+
+import com.sunless.app.mode.User;
+import com.sunless.app.repo.UserIdentifiers;
+import com.sunless.app.repo.UserRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Answers "is this username/email free?" from in-memory Bloom filters of every registered value, so the
+ * common case (a name nobody has) needs no query. A filter hit may be a false positive and is confirmed
+ * against the unique index. The filters are built from {@code users} after startup and rebuilt periodically;
+ * in between, a frequent incremental refresh adds registrations made on other nodes. Until the first build every
+ * check goes to the database. The answer is advisory: a name just taken on another node can read as available
+ * until the next refresh, and uniqueness itself is enforced by the database constraints at registration.
+ */
+@Service
+public class UserAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAvailabilityService.class);
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        void add(String username, String email) {
+            usernames.put(normalize(username));
+            emails.put(normalize(email));
+        }
+    }
+
+    private record Scan(long lastId, int count) {
+    }
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Value("${app.availability.expected-users:100000}")
+    private long expectedUsers;
+
+    @Value("${app.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.availability.rebuild-batch-size:5000}")
+    private int rebuildBatchSize;
+
+    // Off means the filters are only built when rebuild() is called, as the tests do
+    @Value("${app.availability.scheduled:true}")
+    private boolean scheduled;
+
+    private final Counter filteredChecks;
+    private final Counter queriedChecks;
+
+    private volatile Filters filters;
+    private volatile Filters building;
+
+    // Serializes rebuilds and refreshes; a refresh uses tryLock to skip while a rebuild is reading the same rows
+    private final ReentrantLock lock = new ReentrantLock();
+    // Highest user id the filters were built or refreshed from; guarded by lock
+    private long scannedUpTo;
+
+    public UserAvailabilityService(MeterRegistry meterRegistry) {
+        this.filteredChecks = checks(meterRegistry, "filtered");
+        this.queriedChecks = checks(meterRegistry, "queried");
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        return isAvailable(username, Filters::usernames, userRepo::existsByUsername);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        return isAvailable(email, Filters::emails, userRepo::existsByEmail);
+    }
+
+    public void registered(User user) {
+        Filters current = filters;
+        Filters pending = building;
+        if (current != null) {
+            current.add(user.getUsername(), user.getEmail());
+        }
+        if (pending != null) {
+            pending.add(user.getUsername(), user.getEmail());
+        }
+    }
+
+    // Off the startup thread, so readiness does not wait on a scan of users; checks use the database until it is done
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (scheduled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.availability.rebuild-interval:PT6H}",
+               initialDelayString = "${app.availability.rebuild-interval:PT6H}")
+    public void scheduledRebuild() {
+        if (scheduled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        lock.lock();
+        try {
+            long started = System.nanoTime();
+            // Headroom for growth until the next rebuild; a filter past its size only gets more false positives
+            long capacity = Math.max(expectedUsers, userRepo.count() * 2);
+            Filters next = new Filters(new BloomFilter(capacity, falsePositiveRate),
+                    new BloomFilter(capacity, falsePositiveRate));
+            // Registrations committed while the scan runs are added here too
+            building = next;
+            try {
+                Scan scan = scan(next, 0);
+                filters = next;
+                scannedUpTo = scan.lastId();
+                log.info("Availability filters rebuilt from {} user(s) in {} ms",
+                        scan.count(), (System.nanoTime() - started) / 1_000_000);
+            } finally {
+                building = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds users registered since the last scan, including sign-ups on other nodes, which {@link #registered}
+     * never sees. Ids only grow, so this reads just the new rows. A registration whose id was assigned before
+     * a higher one but committed after this scan passed it is picked up by the next full rebuild.
+     */
+    @Scheduled(fixedDelayString = "${app.availability.refresh-interval:PT30S}",
+               initialDelayString = "${app.availability.refresh-interval:PT30S}")
+    public void scheduledRefresh() {
+        if (scheduled) {
+            refresh();
+        }
+    }
+
+    public void refresh() {
+        // Skipped while a rebuild runs: the rebuild reads the same rows
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            Filters current = filters;
+            if (current != null) {
+                scannedUpTo = Math.max(scannedUpTo, scan(current, scannedUpTo).lastId());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Scan scan(Filters target, long afterId) {
+        int count = 0;
+        List<UserIdentifiers> page;
+        do {
+            page = userRepo.findIdentifiersAfter(afterId, PageRequest.of(0, rebuildBatchSize));
+            for (UserIdentifiers user : page) {
+                target.add(user.getUsername(), user.getEmail());
+                afterId = user.getId();
+            }
+            count += page.size();
+        } while (page.size() == rebuildBatchSize);
+        return new Scan(afterId, count);
+    }
+
+    private boolean isAvailable(String value, Function<Filters, BloomFilter> filter, Predicate<String> exists) {
+        Filters current = filters;
+        if (current != null && !filter.apply(current).mightContain(normalize(value))) {
+            filteredChecks.increment();
+            return true;
+        }
+        queriedChecks.increment();
+        return !exists.test(value);
+    }
+
+    // Folds case and accents so values the database collation treats as equal share filter bits
+    private static String normalize(String value) {
+        String folded = Normalizer.normalize(value.strip().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return folded.replaceAll("\\p{M}", "");
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("app.availability.checks")
+                .description("Username/email availability checks by whether the database was consulted")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
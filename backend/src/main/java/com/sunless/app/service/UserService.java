@@ -1,20 +1,24 @@
 package com.sunless.app.service;
 
 import com.sunless.app.repo.UserRepo;
+import com.sunless.app.repo.UserSummary;
 import com.sunless.app.mode.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepo userRepository;
@@ -22,16 +26,39 @@ public class UserService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    private UserAvailabilityService userAvailabilityService;
+
     public User registerUser(User user) {
-        if (userRepository.existsByUsername(user.getUsername())) {
+        if (!userAvailabilityService.isUsernameAvailable(user.getUsername())) {
             throw new RuntimeException("Username is already taken!");
         }
-        if (userRepository.existsByEmail(user.getEmail())) {
+        if (!userAvailabilityService.isEmailAvailable(user.getEmail())) {
             throw new RuntimeException("Email is already in use!");
         }
         
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // The checks above are advisory; the unique indexes decide races between concurrent sign-ups
+            throw new RuntimeException(userRepository.existsByUsername(user.getUsername())
+                    ? "Username is already taken!" : "Email is already in use!");
+        }
+        userAvailabilityService.registered(savedUser);
+        return savedUser;
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        return userAvailabilityService.isUsernameAvailable(username);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        return userAvailabilityService.isEmailAvailable(email);
     }
 
     public Optional<User> login(String username, String password) {
@@ -43,6 +70,12 @@ public class UserService implements UserDetailsService {
         return userRepository.findById(id).orElse(null);
     }
 
+    public String getUserETag(Long id) {
+        return userRepository.findVersionById(id)
+                .map(version -> ETags.of("user", id, version))
+                .orElse(null);
+    }
+
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
@@ -55,12 +88,13 @@ public class UserService implements UserDetailsService {
         return userRepository.save(user);
     }
 
+    // Buffered; the column catches up on the recorder's next flush
     public void updateLastLogin(Long userId) {
-        User user = findById(userId);
-        if (user != null) {
-            user.setLastLoginAt(LocalDateTime.now());
-            userRepository.save(user);
-        }
+        lastLoginRecorder.record(userId, LocalDateTime.now());
+    }
+
+    public List<UserSummary> findSummaries(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : userRepository.findSummariesByIdIn(ids);
     }
 
     public List<User> searchUsers(String query) {
@@ -78,4 +112,17 @@ public class UserService implements UserDetailsService {
                 .authorities("ROLE_USER")
                 .build();
     }
+
+    // Called by the authentication manager after a successful login whose stored hash uses an older bcrypt cost
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
 }
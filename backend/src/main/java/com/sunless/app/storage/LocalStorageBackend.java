@@ -0,0 +1,69 @@
+package com.sunless.app.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class LocalStorageBackend implements StorageBackend {
+
+    private static final String URL_PREFIX = "/uploads/";
+
+    private final Path root;
+
+    public LocalStorageBackend(String uploadDir) {
+        this.root = Paths.get(uploadDir);
+    }
+
+    @Override
+    public void store(String key, InputStream content, long size, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public List<StoredObject> list() throws IOException {
+        List<StoredObject> objects = new ArrayList<>();
+        if (!Files.isDirectory(root)) {
+            return objects;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String key = root.relativize(file).toString().replace('\\', '/');
+                objects.add(new StoredObject(key, Files.getLastModifiedTime(file).toInstant()));
+            }
+        }
+        return objects;
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return URL_PREFIX + key;
+    }
+
+    @Override
+    public Optional<PresignedUpload> presignUpload(String key, String contentType, long contentLength, Duration ttl) {
+        return Optional.empty();
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root.normalize())) {
+            throw new IllegalArgumentException("Invalid storage key " + key);
+        }
+        return path;
+    }
+}
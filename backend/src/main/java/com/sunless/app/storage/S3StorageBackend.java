@@ -0,0 +1,81 @@
+package com.sunless.app.storage;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores uploads in an S3-compatible bucket (AWS S3, MinIO, ...). Every app node talks to the
+ * same bucket, so no node needs to own the upload files.
+ */
+public class S3StorageBackend implements StorageBackend {
+
+    private final S3Client client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final String publicUrl;
+
+    public S3StorageBackend(S3Client client, S3Presigner presigner, String bucket, String publicUrl) {
+        this.client = client;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+    }
+
+    @Override
+    public void store(String key, InputStream content, long size, String contentType) {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build();
+        client.putObject(request, RequestBody.fromInputStream(content, size));
+    }
+
+    @Override
+    public void delete(String key) {
+        client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build());
+    }
+
+    @Override
+    public List<StoredObject> list() {
+        ListObjectsV2Request request = ListObjectsV2Request.builder().bucket(bucket).build();
+        return client.listObjectsV2Paginator(request).contents().stream()
+                .map(object -> new StoredObject(object.key(), object.lastModified()))
+                .toList();
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return publicUrl + "/" + key;
+    }
+
+    @Override
+    public Optional<PresignedUpload> presignUpload(String key, String contentType, long contentLength, Duration ttl) {
+        // Content-Length is one of the signed headers, so S3 rejects a body of any other size
+        PutObjectRequest putRequest = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .build();
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .putObjectRequest(putRequest)
+                .build());
+        return Optional.of(new PresignedUpload(
+                presigned.url().toString(),
+                presigned.httpRequest().method().name(),
+                presigned.expiration()));
+    }
+}
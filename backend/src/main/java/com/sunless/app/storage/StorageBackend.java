@@ -0,0 +1,29 @@
+package com.sunless.app.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface StorageBackend {
+
+    void store(String key, InputStream content, long size, String contentType) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    List<StoredObject> list() throws IOException;
+
+    String getUrl(String key);
+
+    // Empty when the backend cannot accept uploads that bypass the application.
+    // The upload must send exactly contentLength bytes with the given content type.
+    Optional<PresignedUpload> presignUpload(String key, String contentType, long contentLength, Duration ttl);
+
+    record StoredObject(String key, Instant lastModified) {
+    }
+
+    record PresignedUpload(String uploadUrl, String method, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,163 @@
+-- Baseline: the schema ddl-auto=update produced before migrations were versioned.
+-- Existing databases are baselined at this version (spring.flyway.baseline-version=1).
+
+create table comments (
+    is_active boolean not null,
+    like_count integer not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    parent_comment_id bigint,
+    post_id bigint not null,
+    updated_at timestamp(6),
+    user_id bigint not null,
+    content TEXT not null,
+    primary key (id)
+);
+
+create table follows (
+    created_at timestamp(6) not null,
+    follower_id bigint not null,
+    following_id bigint not null,
+    id bigint generated by default as identity,
+    primary key (id),
+    unique (follower_id, following_id)
+);
+
+create table likes (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    post_id bigint not null,
+    user_id bigint not null,
+    primary key (id),
+    unique (user_id, post_id)
+);
+
+create table messages (
+    is_read boolean not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    receiver_id bigint not null,
+    sender_id bigint not null,
+    updated_at timestamp(6),
+    content TEXT not null,
+    primary key (id)
+);
+
+create table notifications (
+    is_read boolean not null,
+    comment_id bigint,
+    created_at timestamp(6) not null,
+    from_user_id bigint,
+    id bigint generated by default as identity,
+    post_id bigint,
+    user_id bigint not null,
+    message varchar(255) not null,
+    type enum ('COMMENT','FOLLOW','LIKE','MENTION','POST_SHARE') not null,
+    primary key (id)
+);
+
+create table posts (
+    comment_count integer not null,
+    is_active boolean not null,
+    like_count integer not null,
+    share_count integer not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    user_id bigint not null,
+    content TEXT,
+    image_url varchar(255),
+    location varchar(255),
+    video_url varchar(255),
+    privacy enum ('FRIENDS','PRIVATE','PUBLIC') not null,
+    type enum ('IMAGE','LINK','TEXT','VIDEO') not null,
+    primary key (id)
+);
+
+create table users (
+    is_active boolean not null,
+    is_verified boolean not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    last_login_at timestamp(6),
+    username varchar(20) not null unique,
+    first_name varchar(100),
+    last_name varchar(100),
+    bio varchar(500),
+    cover_picture_url varchar(255),
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    profile_picture_url varchar(255),
+    role enum ('ADMIN','MODERATOR','USER') not null,
+    primary key (id)
+);
+
+alter table if exists comments 
+   add constraint FK7h839m3lkvhbyv3bcdv7sm4fj 
+   foreign key (parent_comment_id) 
+   references comments;
+
+alter table if exists comments 
+   add constraint FKh4c7lvsc298whoyd4w9ta25cr 
+   foreign key (post_id) 
+   references posts;
+
+alter table if exists comments 
+   add constraint FK8omq0tc18jd43bu5tjh6jvraq 
+   foreign key (user_id) 
+   references users;
+
+alter table if exists follows 
+   add constraint FKqnkw0cwwh6572nyhvdjqlr163 
+   foreign key (follower_id) 
+   references users;
+
+alter table if exists follows 
+   add constraint FKonkdkae2ngtx70jqhsh7ol6uq 
+   foreign key (following_id) 
+   references users;
+
+alter table if exists likes 
+   add constraint FKry8tnr4x2vwemv2bb0h5hyl0x 
+   foreign key (post_id) 
+   references posts;
+
+alter table if exists likes 
+   add constraint FKnvx9seeqqyy71bij291pwiwrg 
+   foreign key (user_id) 
+   references users;
+
+alter table if exists messages 
+   add constraint FKt05r0b6n0iis8u7dfna4xdh73 
+   foreign key (receiver_id) 
+   references users;
+
+alter table if exists messages 
+   add constraint FK4ui4nnwntodh6wjvck53dbk9m 
+   foreign key (sender_id) 
+   references users;
+
+alter table if exists notifications 
+   add constraint FKl7p8sj183bxuwg2sq2ltx3cpv 
+   foreign key (comment_id) 
+   references comments;
+
+alter table if exists notifications 
+   add constraint FKpalb3w8yony75cf2odwxks4ns 
+   foreign key (from_user_id) 
+   references users;
+
+alter table if exists notifications 
+   add constraint FK599539lym3mnkbqks0u806eac 
+   foreign key (post_id) 
+   references posts;
+
+alter table if exists notifications 
+   add constraint FK9y21adhxn0ayjhfocscqox7bh 
+   foreign key (user_id) 
+   references users;
+
+alter table if exists posts 
+   add constraint FK5lidm6cqbc7u4xhqpxm898qme 
+   foreign key (user_id) 
+   references users;
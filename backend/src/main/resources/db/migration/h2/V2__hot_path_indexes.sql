@@ -0,0 +1,12 @@
+-- Composite indexes for the hot read paths (feeds, notifications, conversations, comment threads)
+
+create index idx_posts_user_active_created on posts (user_id, is_active, created_at);
+create index idx_posts_active_created on posts (is_active, created_at);
+create index idx_posts_active_likes on posts (is_active, like_count);
+
+create index idx_notifications_user_read_created on notifications (user_id, is_read, created_at);
+
+create index idx_messages_sender_receiver_created on messages (sender_id, receiver_id, created_at);
+create index idx_messages_receiver_read_created on messages (receiver_id, is_read, created_at);
+
+create index idx_comments_post_parent_created on comments (post_id, parent_comment_id, created_at);
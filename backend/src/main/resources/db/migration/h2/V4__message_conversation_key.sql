@@ -0,0 +1,10 @@
+-- Canonical "<smaller user id>:<larger user id>" key so a conversation is one index range, read newest-first by id
+
+alter table messages add column conversation_key varchar(41);
+
+update messages
+   set conversation_key = concat(least(sender_id, receiver_id), ':', greatest(sender_id, receiver_id));
+
+alter table messages alter column conversation_key set not null;
+
+create index idx_messages_conversation_id on messages (conversation_key, id);
@@ -0,0 +1,5 @@
+-- Version column behind the user ETag; existing users start from their creation time
+
+alter table users add column updated_at timestamp(6);
+
+update users set updated_at = created_at;
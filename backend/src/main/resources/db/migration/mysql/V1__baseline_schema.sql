@@ -0,0 +1,173 @@
+-- Baseline: the schema ddl-auto=update produced before migrations were versioned.
+-- Existing databases are baselined at this version (spring.flyway.baseline-version=1).
+
+create table comments (
+    is_active bit not null,
+    like_count integer not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    parent_comment_id bigint,
+    post_id bigint not null,
+    updated_at datetime(6),
+    user_id bigint not null,
+    content TEXT not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table follows (
+    created_at datetime(6) not null,
+    follower_id bigint not null,
+    following_id bigint not null,
+    id bigint not null auto_increment,
+    primary key (id)
+) engine=InnoDB;
+
+create table likes (
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    post_id bigint not null,
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table messages (
+    is_read bit not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    receiver_id bigint not null,
+    sender_id bigint not null,
+    updated_at datetime(6),
+    content TEXT not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table notifications (
+    is_read bit not null,
+    comment_id bigint,
+    created_at datetime(6) not null,
+    from_user_id bigint,
+    id bigint not null auto_increment,
+    post_id bigint,
+    user_id bigint not null,
+    message varchar(255) not null,
+    type enum ('COMMENT','FOLLOW','LIKE','MENTION','POST_SHARE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table posts (
+    comment_count integer not null,
+    is_active bit not null,
+    like_count integer not null,
+    share_count integer not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    user_id bigint not null,
+    content TEXT,
+    image_url varchar(255),
+    location varchar(255),
+    video_url varchar(255),
+    privacy enum ('FRIENDS','PRIVATE','PUBLIC') not null,
+    type enum ('IMAGE','LINK','TEXT','VIDEO') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    is_active bit not null,
+    is_verified bit not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    last_login_at datetime(6),
+    username varchar(20) not null,
+    first_name varchar(100),
+    last_name varchar(100),
+    bio varchar(500),
+    cover_picture_url varchar(255),
+    email varchar(255) not null,
+    password varchar(255) not null,
+    profile_picture_url varchar(255),
+    role enum ('ADMIN','MODERATOR','USER') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table follows 
+   add constraint UK4faelgsm2rxl2jf3iyjy981ro unique (follower_id, following_id);
+
+alter table likes 
+   add constraint UK2jovqhqo324cubdomovkex03b unique (user_id, post_id);
+
+alter table users 
+   add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table users 
+   add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table comments 
+   add constraint FK7h839m3lkvhbyv3bcdv7sm4fj 
+   foreign key (parent_comment_id) 
+   references comments (id);
+
+alter table comments 
+   add constraint FKh4c7lvsc298whoyd4w9ta25cr 
+   foreign key (post_id) 
+   references posts (id);
+
+alter table comments 
+   add constraint FK8omq0tc18jd43bu5tjh6jvraq 
+   foreign key (user_id) 
+   references users (id);
+
+alter table follows 
+   add constraint FKqnkw0cwwh6572nyhvdjqlr163 
+   foreign key (follower_id) 
+   references users (id);
+
+alter table follows 
+   add constraint FKonkdkae2ngtx70jqhsh7ol6uq 
+   foreign key (following_id) 
+   references users (id);
+
+alter table likes 
+   add constraint FKry8tnr4x2vwemv2bb0h5hyl0x 
+   foreign key (post_id) 
+   references posts (id);
+
+alter table likes 
+   add constraint FKnvx9seeqqyy71bij291pwiwrg 
+   foreign key (user_id) 
+   references users (id);
+
+alter table messages 
+   add constraint FKt05r0b6n0iis8u7dfna4xdh73 
+   foreign key (receiver_id) 
+   references users (id);
+
+alter table messages 
+   add constraint FK4ui4nnwntodh6wjvck53dbk9m 
+   foreign key (sender_id) 
+   references users (id);
+
+alter table notifications 
+   add constraint FKl7p8sj183bxuwg2sq2ltx3cpv 
+   foreign key (comment_id) 
+   references comments (id);
+
+alter table notifications 
+   add constraint FKpalb3w8yony75cf2odwxks4ns 
+   foreign key (from_user_id) 
+   references users (id);
+
+alter table notifications 
+   add constraint FK599539lym3mnkbqks0u806eac 
+   foreign key (post_id) 
+   references posts (id);
+
+alter table notifications 
+   add constraint FK9y21adhxn0ayjhfocscqox7bh 
+   foreign key (user_id) 
+   references users (id);
+
+alter table posts 
+   add constraint FK5lidm6cqbc7u4xhqpxm898qme 
+   foreign key (user_id) 
+   references users (id);
@@ -0,0 +1,7 @@
+-- Explore, trending and search only read PUBLIC posts, so privacy joins the feed indexes
+
+drop index idx_posts_active_created on posts;
+drop index idx_posts_active_likes on posts;
+
+create index idx_posts_active_privacy_created on posts (is_active, privacy, created_at);
+create index idx_posts_active_privacy_likes on posts (is_active, privacy, like_count);
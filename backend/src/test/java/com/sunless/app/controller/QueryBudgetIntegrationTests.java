@@ -0,0 +1,321 @@
+package com.sunless.app.controller;
+
+import com.sunless.app.mode.Comment;
+import com.sunless.app.mode.Post;
+import com.sunless.app.mode.User;
+import com.sunless.app.security.JwtTokenProvider;
+import com.sunless.app.service.CommentService;
+import com.sunless.app.service.FollowService;
+import com.sunless.app.service.LikeService;
+import com.sunless.app.service.MessageService;
+import com.sunless.app.service.PostService;
+import com.sunless.app.service.UserAvailabilityService;
+import com.sunless.app.service.UserService;
+import com.sunless.app.support.QueryBudget;
+import com.sunless.app.support.SqlStatementRecorder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements the read endpoints issue against a small but fan-out-heavy
+ * dataset, so an N+1 regression fails the build instead of surfacing in production. The
+ * second-level cache is cleared before each test, so budgets are for a cold cache.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SqlStatementRecorder.Config.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetIntegrationTests {
+
+    private static final int AUTHORS = 5;
+    private static final int POSTS_PER_AUTHOR = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserAvailabilityService userAvailabilityService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User viewer;
+    private final List<User> authors = new ArrayList<>();
+    private final List<Post> posts = new ArrayList<>();
+    private Post post;
+    private Post busyPost;
+    private String token;
+
+    @BeforeAll
+    void seed() {
+        viewer = register("qb_viewer");
+        for (int i = 0; i < AUTHORS; i++) {
+            User author = register("qb_author" + i);
+            authors.add(author);
+            followService.followUser(viewer.getId(), author.getId());
+            followService.followUser(author.getId(), viewer.getId());
+            for (int m = 0; m < 3; m++) {
+                messageService.sendMessage(viewer.getId(), author.getId(), "hello " + m);
+                messageService.sendMessage(author.getId(), viewer.getId(), "hi " + m);
+            }
+        }
+
+        for (User author : authors) {
+            for (int i = 0; i < POSTS_PER_AUTHOR; i++) {
+                Post created = new Post();
+                created.setContent("post " + i + " by " + author.getUsername());
+                created = postService.createPost(author.getId(), created);
+                for (User engaged : authors) {
+                    if (!engaged.getId().equals(author.getId())) {
+                        likeService.likePost(engaged.getId(), created.getId());
+                        commentService.createComment(engaged.getId(), created.getId(), "nice", null);
+                    }
+                }
+                posts.add(created);
+                post = created;
+            }
+        }
+
+        busyPost = new Post();
+        busyPost.setContent("busy post");
+        busyPost = postService.createPost(authors.get(0).getId(), busyPost);
+        for (User commenter : authors) {
+            for (int c = 0; c < 3; c++) {
+                Comment comment = commentService.createComment(commenter.getId(), busyPost.getId(), "comment " + c, null);
+                commentService.createComment(viewer.getId(), busyPost.getId(), "reply", comment.getId());
+            }
+        }
+
+        token = tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(viewer.getUsername(), null, List.of()));
+        // The startup build runs asynchronously; build here so the availability budgets don't race it
+        userAvailabilityService.rebuild();
+    }
+
+    @BeforeEach
+    void evictSecondLevelCache() {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+    }
+
+    @Test
+    @QueryBudget(max = 9)
+    void newsFeed() throws Exception {
+        mockMvc.perform(get("/api/feed/news").param("size", "10").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void newsFeedCostDoesNotGrowWithPageSize() throws Throwable {
+        SqlStatementRecorder.start();
+        mockMvc.perform(get("/api/feed/news").param("size", "2").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        int smallPage = SqlStatementRecorder.stop().size();
+
+        evictSecondLevelCache();
+        SqlStatementRecorder.assertAtMost(smallPage, () ->
+                mockMvc.perform(get("/api/feed/news").param("size", "10").header("Authorization", "Bearer " + token))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void newsFeedRevalidationLoadsNoFollowOrPostRows() throws Exception {
+        String etag = mockMvc.perform(get("/api/feed/news").header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader("ETag");
+
+        evictSecondLevelCache();
+        SqlStatementRecorder.start();
+        mockMvc.perform(get("/api/feed/news").header("Authorization", "Bearer " + token).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // The signed-in user's lookup, then one aggregate each over follows and posts
+        assertThat(statements).hasSize(3);
+        assertThat(statements.subList(1, 3)).allMatch(sql -> sql.startsWith("select max("));
+    }
+
+    @Test
+    void postRevalidationDoesNotLoadThePost() throws Exception {
+        String etag = mockMvc.perform(get("/api/post/" + post.getId()).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        evictSecondLevelCache();
+        SqlStatementRecorder.start();
+        mockMvc.perform(get("/api/post/" + post.getId()).header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // The signed-in user's lookup, then the post's version; no comments, likers or author rows
+        assertThat(statements).hasSize(2);
+    }
+
+    @Test
+    @QueryBudget(max = 10)
+    void exploreFeed() throws Exception {
+        mockMvc.perform(get("/api/feed/explore").param("size", "10").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].likedByViewer").isBoolean())
+                .andExpect(jsonPath("$.content[0].authorFollowedByViewer").value(true));
+    }
+
+    @Test
+    @QueryBudget(max = 2)
+    void likeStatusesForAPage() throws Exception {
+        mockMvc.perform(get("/api/like/status").param("postIds", postIds())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data['" + post.getId() + "']").value(false));
+    }
+
+    @Test
+    @QueryBudget(max = 2)
+    void followStatusesForAPage() throws Exception {
+        String userIds = authors.stream().map(author -> author.getId().toString()).collect(Collectors.joining(","));
+        mockMvc.perform(get("/api/follow/status").param("userIds", userIds)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data['" + authors.get(0).getId() + "']").value(true));
+    }
+
+    @Test
+    @QueryBudget(max = 3)
+    void commentsByPost() throws Exception {
+        mockMvc.perform(get("/api/comment/post/" + post.getId()).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].user.username").exists())
+                .andExpect(content().string(not(containsString("password"))));
+    }
+
+    @Test
+    void commentsByPostCostDoesNotGrowWithCommentCount() throws Throwable {
+        SqlStatementRecorder.start();
+        mockMvc.perform(get("/api/comment/post/" + post.getId()).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        int fewComments = SqlStatementRecorder.stop().size();
+
+        evictSecondLevelCache();
+        SqlStatementRecorder.assertAtMost(fewComments, () ->
+                mockMvc.perform(get("/api/comment/post/" + busyPost.getId()).header("Authorization", "Bearer " + token))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.data.length()").value(AUTHORS * 3))
+                        .andExpect(jsonPath("$.data[0].replies[0].user.username").value(viewer.getUsername())));
+    }
+
+    @Test
+    @QueryBudget(max = 2)
+    void followers() throws Exception {
+        mockMvc.perform(get("/api/follow/" + viewer.getId() + "/followers").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(max = 2)
+    void following() throws Exception {
+        mockMvc.perform(get("/api/follow/" + viewer.getId() + "/following").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(max = 10)
+    void notifications() throws Exception {
+        mockMvc.perform(get("/api/notifications").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(max = 4)
+    void conversation() throws Exception {
+        mockMvc.perform(get("/api/messages/conversation/" + authors.get(0).getId()).param("size", "4")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(4))
+                .andExpect(jsonPath("$.data.participants.length()").value(2))
+                .andExpect(jsonPath("$.data.hasMore").value(true))
+                .andExpect(content().string(not(containsString("password"))));
+    }
+
+    @Test
+    @QueryBudget(max = 4)
+    void conversations() throws Exception {
+        mockMvc.perform(get("/api/messages/conversations").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(AUTHORS))
+                .andExpect(jsonPath("$.data.participants.length()").value(AUTHORS + 1))
+                .andExpect(jsonPath("$.data.content[0].isRead").isBoolean())
+                .andExpect(jsonPath("$.data.content[0].read").doesNotExist());
+    }
+
+    @Test
+    @QueryBudget(max = 0)
+    void availabilityOfAnUnusedNameSkipsTheDatabase() throws Exception {
+        mockMvc.perform(get("/api/auth/availability").param("username", "nobody_has_this").param("email", "free@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.username").value(true))
+                .andExpect(jsonPath("$.data.email").value(true));
+    }
+
+    @Test
+    @QueryBudget(max = 1)
+    void availabilityOfATakenNameIsConfirmedByTheIndex() throws Exception {
+        mockMvc.perform(get("/api/auth/availability").param("username", "qb_viewer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.username").value(false));
+    }
+
+    private String postIds() {
+        return posts.stream().map(created -> created.getId().toString()).collect(Collectors.joining(","));
+    }
+
+    private User register(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        return userService.registerUser(user);
+    }
+}
@@ -0,0 +1,122 @@
+package com.sunless.app.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two H2 databases that each hold a row naming themselves.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("routing_primary");
+        DataSource replica = h2("routing_replica");
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(new ReadYourWritesTracker(Duration.ofMinutes(1)));
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+                ReadWriteRoutingDataSource.Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertThat(readOnlySource()).isEqualTo("routing_replica");
+        assertThat(readWriteSource()).isEqualTo("routing_primary");
+    }
+
+    @Test
+    void readsAfterWriteInSameRequestUsePrimary() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertThat(readOnlySource()).isEqualTo("routing_replica");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET touched = touched + 1"));
+        assertThat(readOnlySource()).isEqualTo("routing_primary");
+    }
+
+    @Test
+    void writerReadsFromPrimaryOnLaterRequestsWithinWindow() {
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET touched = touched + 1"));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(readOnlySource()).isEqualTo("routing_primary");
+
+        authenticate("bob");
+        assertThat(readOnlySource()).isEqualTo("routing_replica");
+    }
+
+    @Test
+    void rolledBackTransactionDoesNotPinToPrimary() {
+        authenticate("carol");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET touched = touched + 1");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlySource()).isEqualTo("routing_replica");
+    }
+
+    private String readOnlySource() {
+        return readOnly.execute(status -> source());
+    }
+
+    private String readWriteSource() {
+        return readWrite.execute(status -> source());
+    }
+
+    private String source() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS marker");
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(64), touched INT DEFAULT 0)");
+        jdbc.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,37 @@
+package com.sunless.app.loadtest;
+
+import com.sunless.app.SocialmediaAppApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Local capacity-planning run: boots the app on the H2 test profile, seeds a synthetic dataset and
+ * replays a mixed workload against the REST API. Not part of the regular test run; start it with
+ * {@code mvn test -Dtest=CapacityPlanningRun -Dsurefire.failIfNoSpecifiedTests=false}.
+ * Scale with {@code -Dload.users=1000000} (see {@link SyntheticDataGenerator.Settings} and
+ * {@link LoadDriver.Settings}); large datasets want a file-backed URL such as
+ * {@code -Dspring.datasource.url=jdbc:h2:file:./target/loadtest;MODE=MySQL} and {@code -DargLine=-Xmx8g}.
+ */
+class CapacityPlanningRun {
+
+    @Test
+    void seedAndReplayMixedWorkload() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SocialmediaAppApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN", "app.rate-limit.enabled=false")
+                .run()) {
+            SyntheticDataGenerator.Settings dataSettings = SyntheticDataGenerator.Settings.fromSystemProperties();
+            long seedStart = System.nanoTime();
+            SyntheticDataGenerator.Summary dataset =
+                    new SyntheticDataGenerator(context.getBean(JdbcTemplate.class), dataSettings).generate();
+            System.out.printf("[capacity] seeded %s in %.1f s%n", dataset, (System.nanoTime() - seedStart) / 1e9);
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            LoadDriver.Report report = new LoadDriver(baseUrl,
+                    LoadDriver.Settings.fromSystemProperties(dataset.users(), dataset.posts())).run();
+            System.out.print(report.format());
+        }
+    }
+}
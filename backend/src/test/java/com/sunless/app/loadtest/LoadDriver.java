@@ -0,0 +1,236 @@
+package com.sunless.app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load driver: each client logs in as a synthetic user and then issues a weighted mix of
+ * feed, profile, post and write requests back to back for the configured duration.
+ */
+public class LoadDriver {
+
+    private final String baseUrl;
+    private final Settings settings;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Operation> operations = new ArrayList<>();
+    private int totalWeight;
+
+    public LoadDriver(String baseUrl, Settings settings) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+
+        operation("GET /api/feed/news", 30, client -> get("/api/feed/news?size=10", client));
+        operation("GET /api/feed/explore", 15, client -> get("/api/feed/explore?size=10", client));
+        operation("GET /api/feed/trending", 5, client -> get("/api/feed/trending?size=10", client));
+        operation("GET /api/feed/user/{id}", 10, client -> get("/api/feed/user/" + randomUser() + "?size=10", client));
+        operation("GET /api/post/{id}", 15, client -> get("/api/post/" + randomPost(), client));
+        operation("GET /api/user/{id}", 10, client -> get("/api/user/" + randomUser(), client));
+        operation("GET /api/comment/post/{id}", 5, client -> get("/api/comment/post/" + randomPost(), client));
+        operation("POST /api/like/post/{id}", 4, client -> post("/api/like/post/" + randomPost(), "{}", client));
+        operation("POST /api/post", 3, client -> post("/api/post", "{\"content\":\"load test post\"}", client));
+        operation("POST /api/messages/send", 3, client -> post("/api/messages/send",
+                "{\"receiverId\":" + randomUser() + ",\"content\":\"load test message\"}", client));
+    }
+
+    public record Settings(int clients, Duration warmup, Duration duration, long users, long posts) {
+
+        public static Settings fromSystemProperties(long users, long posts) {
+            return new Settings(
+                    Integer.getInteger("load.clients", 32),
+                    Duration.ofSeconds(Long.getLong("load.warmup-seconds", 5L)),
+                    Duration.ofSeconds(Long.getLong("load.duration-seconds", 30L)),
+                    users,
+                    posts);
+        }
+    }
+
+    private record Client(String token) {
+    }
+
+    private record Operation(String name, int weight, Request request) {
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        HttpRequest build(Client client);
+    }
+
+    public Report run() throws Exception {
+        List<Client> clients = login();
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.clients());
+        try {
+            drive(executor, clients, settings.warmup(), new Report(Duration.ZERO));
+            Report report = new Report(settings.duration());
+            drive(executor, clients, settings.duration(), report);
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void drive(ExecutorService executor, List<Client> clients, Duration duration, Report report)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> workers = new ArrayList<>();
+        for (Client client : clients) {
+            workers.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    Operation operation = pickOperation();
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        HttpResponse<Void> response = httpClient.send(operation.request().build(client),
+                                HttpResponse.BodyHandlers.discarding());
+                        ok = response.statusCode() < 400;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    report.record(operation.name(), System.nanoTime() - start, ok);
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get(duration.toSeconds() + 60, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                worker.cancel(true);
+            }
+        }
+    }
+
+    private List<Client> login() throws Exception {
+        List<Client> clients = new ArrayList<>(settings.clients());
+        for (int i = 0; i < settings.clients(); i++) {
+            String username = SyntheticDataGenerator.username(randomUser());
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username + "\",\"password\":\""
+                            + SyntheticDataGenerator.PASSWORD + "\"}"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new RuntimeException("Login failed for " + username + ": " + response.body());
+            }
+            clients.add(new Client(objectMapper.readTree(response.body()).path("token").asText()));
+        }
+        return clients;
+    }
+
+    private void operation(String name, int weight, Request request) {
+        operations.add(new Operation(name, weight, request));
+        totalWeight += weight;
+    }
+
+    private Operation pickOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private HttpRequest get(String path, Client client) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + client.token())
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String body, Client client) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + client.token())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private long randomUser() {
+        return ThreadLocalRandom.current().nextLong(settings.users()) + 1;
+    }
+
+    private long randomPost() {
+        return ThreadLocalRandom.current().nextLong(settings.posts()) + 1;
+    }
+
+    /**
+     * Per-endpoint latency samples collected during the measured window.
+     */
+    public static class Report {
+
+        private final Duration duration;
+        private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+        Report(Duration duration) {
+            this.duration = duration;
+        }
+
+        synchronized void record(String endpoint, long nanos, boolean ok) {
+            samples.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, ok);
+        }
+
+        public synchronized long errors() {
+            return samples.values().stream().mapToLong(s -> s.errors).sum();
+        }
+
+        public synchronized String format() {
+            StringBuilder out = new StringBuilder(String.format("%-30s %9s %7s %10s %9s %9s %9s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms"));
+            long total = 0;
+            for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+                Samples s = entry.getValue();
+                long[] sorted = Arrays.copyOf(s.latencies, s.count);
+                Arrays.sort(sorted);
+                total += s.count;
+                out.append(String.format("%-30s %9d %7d %10.1f %9.2f %9.2f %9.2f%n",
+                        entry.getKey(), s.count, s.errors, s.count / (double) duration.toSeconds(),
+                        percentile(sorted, 50), percentile(sorted, 99), sorted[sorted.length - 1] / 1e6));
+            }
+            out.append(String.format("%-30s %9d %7d %10.1f%n", "TOTAL", total, errors(),
+                    total / (double) duration.toSeconds()));
+            return out.toString();
+        }
+
+        private static double percentile(long[] sorted, int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+
+        private static class Samples {
+            private long[] latencies = new long[1024];
+            private int count;
+            private long errors;
+
+            void add(long nanos, boolean ok) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = nanos;
+                if (!ok) {
+                    errors++;
+                }
+            }
+        }
+    }
+}
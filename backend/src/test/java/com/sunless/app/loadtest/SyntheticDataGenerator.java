@@ -0,0 +1,222 @@
+package com.sunless.app.loadtest;
+
+import com.sunless.app.mode.Message;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds the Flyway-managed schema with a synthetic social graph using batched JDBC inserts.
+ * Follower counts follow a power law (a few celebrities, a long tail), as do post authorship,
+ * likes and comments per post, so feed and profile queries see realistic skew.
+ * Every user's password is {@link #PASSWORD}.
+ */
+public class SyntheticDataGenerator {
+
+    public static final String PASSWORD = "password";
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Settings settings;
+    private final SplittableRandom random;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private long likeId;
+    private long commentId;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, Settings settings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settings = settings;
+        this.random = new SplittableRandom(settings.seed());
+    }
+
+    public record Settings(int users,
+                           int postsPerUser,
+                           int followsPerUser,
+                           int likesPerPost,
+                           int commentsPerPost,
+                           int messagesPerUser,
+                           long seed) {
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("load.users", 10_000),
+                    Integer.getInteger("load.posts-per-user", 10),
+                    Integer.getInteger("load.follows-per-user", 20),
+                    Integer.getInteger("load.likes-per-post", 5),
+                    Integer.getInteger("load.comments-per-post", 2),
+                    Integer.getInteger("load.messages-per-user", 5),
+                    Long.getLong("load.seed", 42L));
+        }
+    }
+
+    public record Summary(long users, long posts, long follows, long likes, long comments, long messages) {
+    }
+
+    public Summary generate() {
+        long users = insertUsers();
+        long follows = insertFollows();
+        long posts = insertPostsWithEngagement();
+        long messages = insertMessages();
+        return new Summary(users, posts, follows, likeId, commentId, messages);
+    }
+
+    private long insertUsers() {
+        // Hashing once keeps seeding fast; BCrypt salts are embedded, so a shared hash still verifies
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        String sql = "INSERT INTO users (id, username, email, password, first_name, last_name, bio, "
+                + "created_at, updated_at, role, is_active, is_verified) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= settings.users(); id++) {
+            Timestamp createdAt = pastTimestamp(365);
+            batch.add(new Object[]{id, username(id), username(id) + "@example.com", passwordHash,
+                    "First" + id, "Last" + id, "Synthetic user " + id, createdAt, createdAt, "USER", true, id % 100 == 0});
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+
+        // Explicit ids bypass the identity column, so move it past them for accounts created later
+        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (settings.users() + 1));
+        return settings.users();
+    }
+
+    private long insertFollows() {
+        String sql = "INSERT INTO follows (id, follower_id, following_id, created_at) VALUES (?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long followId = 0;
+        Set<Long> followed = new HashSet<>();
+
+        for (long follower = 1; follower <= settings.users(); follower++) {
+            int degree = (int) Math.min(settings.users() / 2, pareto(settings.followsPerUser()));
+            followed.clear();
+            while (followed.size() < degree) {
+                long followee = skewedUserId(3.0);
+                if (followee != follower && followed.add(followee)) {
+                    batch.add(new Object[]{++followId, follower, followee, pastTimestamp(365)});
+                    flushIfFull(sql, batch);
+                }
+            }
+        }
+        flush(sql, batch);
+        return followId;
+    }
+
+    private long insertPostsWithEngagement() {
+        String postSql = "INSERT INTO posts (id, user_id, content, created_at, updated_at, type, privacy, "
+                + "like_count, comment_count, share_count, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String likeSql = "INSERT INTO likes (id, user_id, post_id, created_at) VALUES (?, ?, ?, ?)";
+        String commentSql = "INSERT INTO comments (id, user_id, post_id, content, created_at, updated_at, "
+                + "like_count, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+        List<Object[]> posts = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> likes = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> comments = new ArrayList<>(BATCH_SIZE);
+        long totalPosts = (long) settings.users() * settings.postsPerUser();
+        Set<Long> likers = new HashSet<>();
+
+        for (long postId = 1; postId <= totalPosts; postId++) {
+            Timestamp createdAt = pastTimestamp(30);
+            int likeCount = (int) Math.min(settings.users() / 2, pareto(settings.likesPerPost()));
+            int commentCount = (int) pareto(settings.commentsPerPost());
+
+            posts.add(new Object[]{postId, skewedUserId(2.0), "Synthetic post " + postId, createdAt, createdAt,
+                    "TEXT", "PUBLIC", likeCount, commentCount, 0, true});
+
+            likers.clear();
+            while (likers.size() < likeCount) {
+                long userId = randomUserId();
+                if (likers.add(userId)) {
+                    likes.add(new Object[]{++likeId, userId, postId, createdAt});
+                }
+            }
+            for (int i = 0; i < commentCount; i++) {
+                comments.add(new Object[]{++commentId, randomUserId(), postId, "Synthetic comment " + commentId,
+                        createdAt, createdAt, 0, true});
+            }
+
+            // Posts go first so the likes and comments referencing them satisfy their foreign keys
+            if (posts.size() >= BATCH_SIZE || likes.size() >= BATCH_SIZE || comments.size() >= BATCH_SIZE) {
+                flush(postSql, posts);
+                flush(likeSql, likes);
+                flush(commentSql, comments);
+            }
+        }
+        flush(postSql, posts);
+        flush(likeSql, likes);
+        flush(commentSql, comments);
+        return totalPosts;
+    }
+
+    private long insertMessages() {
+        String sql = "INSERT INTO messages (id, sender_id, receiver_id, conversation_key, content, is_read, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long totalMessages = (long) settings.users() * settings.messagesPerUser();
+
+        for (long messageId = 1; messageId <= totalMessages; messageId++) {
+            long sender = randomUserId();
+            long receiver = skewedUserId(2.0);
+            if (receiver == sender) {
+                receiver = sender % settings.users() + 1;
+            }
+            Timestamp createdAt = pastTimestamp(30);
+            batch.add(new Object[]{messageId, sender, receiver, Message.conversationKey(sender, receiver),
+                    "Synthetic message " + messageId, random.nextInt(4) != 0, createdAt, createdAt});
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+        return totalMessages;
+    }
+
+    public static String username(long id) {
+        return "user" + id;
+    }
+
+    private long randomUserId() {
+        return random.nextLong(settings.users()) + 1;
+    }
+
+    /**
+     * Draws a user id biased towards low ids; higher exponents concentrate more mass on the head.
+     */
+    private long skewedUserId(double exponent) {
+        return (long) (settings.users() * Math.pow(random.nextDouble(), exponent)) + 1;
+    }
+
+    /**
+     * Pareto-distributed count (shape 2) with the given mean, truncated at 100x the mean.
+     */
+    private long pareto(int mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double minimum = mean / 2.0;
+        return Math.min(100L * mean, Math.round(minimum / Math.sqrt(1.0 - random.nextDouble())));
+    }
+
+    private Timestamp pastTimestamp(int maxDaysAgo) {
+        return Timestamp.valueOf(now.minusSeconds(random.nextLong(maxDaysAgo * 86_400L)));
+    }
+
+    private void flushIfFull(String sql, List<Object[]> batch) {
+        if (batch.size() >= BATCH_SIZE) {
+            flush(sql, batch);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+}
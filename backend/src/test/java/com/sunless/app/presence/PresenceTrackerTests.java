@@ -0,0 +1,62 @@
+package com.sunless.app.presence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PresenceTrackerTests {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final PresenceTracker tracker = new PresenceTracker(Duration.ofSeconds(30), Duration.ofSeconds(1), clock::get);
+
+    @Test
+    void userGoesOfflineOnceSilentForTheTimeout() {
+        tracker.touch(1L);
+        assertThat(tracker.lastSeen(1L)).isEqualTo(Instant.ofEpochMilli(1_000_000));
+        assertThat(tracker.lastSeen(2L)).isNull();
+
+        advance(Duration.ofSeconds(29));
+        assertThat(tracker.lastSeen(1L)).isNotNull();
+        assertThat(tracker.onlineCount()).isEqualTo(1);
+
+        advance(Duration.ofSeconds(1));
+        assertThat(tracker.lastSeen(1L)).isNull();
+        assertThat(tracker.onlineCount()).isZero();
+    }
+
+    @Test
+    void heartbeatsKeepTheUserOnlineAcrossWheelRotations() {
+        tracker.touch(1L);
+        for (int i = 0; i < 10; i++) {
+            advance(Duration.ofSeconds(20));
+            tracker.touch(1L);
+        }
+        assertThat(tracker.lastSeen(1L)).isEqualTo(Instant.ofEpochMilli(clock.get()));
+
+        advance(Duration.ofSeconds(31));
+        assertThat(tracker.onlineCount()).isZero();
+
+        tracker.touch(1L);
+        assertThat(tracker.lastSeen(1L)).isNotNull();
+    }
+
+    @Test
+    void sweepCatchesUpAfterAStall() {
+        tracker.touch(1L);
+        clock.addAndGet(Duration.ofMinutes(10).toMillis());
+        tracker.expire();
+        assertThat(tracker.onlineCount()).isZero();
+    }
+
+    // Sweeps once per tick, as the scheduler would
+    private void advance(Duration duration) {
+        for (long i = 0; i < duration.toSeconds(); i++) {
+            clock.addAndGet(1_000);
+            tracker.expire();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.sunless.app.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteRateLimitFilterTests {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WriteRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new WriteRateLimitFilter(
+                List.of(new WriteRateLimitFilter.Route("like", "POST", "/api/like/post/*", 3, Duration.ofSeconds(30))),
+                1_000, new ObjectMapper(), meterRegistry, clock::get);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rejectsOnceTheBucketIsEmptyAndRefillsOverThePeriod() throws Exception {
+        authenticate("alice");
+        for (int i = 0; i < 3; i++) {
+            assertThat(like().getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rejected = like();
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("10");
+        assertThat(rejected.getContentAsString()).contains("Too many requests");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(like().getStatus()).isEqualTo(200);
+        assertThat(like().getStatus()).isEqualTo(429);
+
+        assertThat(meterRegistry.get("app.ratelimit.requests").tag("outcome", "allowed").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("app.ratelimit.requests").tag("outcome", "rejected").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void bucketsArePerUserAndOnlyCoverListedRoutes() throws Exception {
+        authenticate("alice");
+        for (int i = 0; i < 3; i++) {
+            like();
+        }
+        assertThat(like().getStatus()).isEqualTo(429);
+        assertThat(perform("GET", "/api/like/post/1/status").getStatus()).isEqualTo(200);
+
+        authenticate("bobby");
+        assertThat(like().getStatus()).isEqualTo(200);
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private MockHttpServletResponse like() throws Exception {
+        return perform("POST", "/api/like/post/42");
+    }
+
+    private MockHttpServletResponse perform(String method, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, path), response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,265 @@
+package com.sunless.app.repo;
+
+import com.sunless.app.mode.Comment;
+import com.sunless.app.mode.Follow;
+import com.sunless.app.mode.Like;
+import com.sunless.app.mode.Message;
+import com.sunless.app.mode.Notification;
+import com.sunless.app.mode.Post;
+import com.sunless.app.mode.User;
+import com.sunless.app.support.SqlStatementRecorder;
+import com.sunless.app.support.SqlStatementRecorder.RecordedStatement;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs H2's EXPLAIN on the SQL behind each hot-path repository query and fails if any table is
+ * read with a full scan. Leading-wildcard searches, unbounded admin listings and the nightly upload
+ * GC lookups are deliberately left out: no B-tree index can serve them.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(SqlStatementRecorder.Config.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTests {
+
+    private static final int USERS = 40;
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PostRepo postRepo;
+
+    @Autowired
+    private FollowRepo followRepo;
+
+    @Autowired
+    private LikeRepo likeRepo;
+
+    @Autowired
+    private CommentRepo commentRepo;
+
+    @Autowired
+    private NotificationRepo notificationRepo;
+
+    @Autowired
+    private MessageRepo messageRepo;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User alice;
+    private User bob;
+    private Post post;
+    private Comment comment;
+
+    @BeforeAll
+    void seed() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("qp_user" + i);
+            user.setEmail("qp_user" + i + "@example.com");
+            user.setPassword("password");
+            users.add(user);
+        }
+        users = userRepo.saveAll(users);
+        alice = users.get(0);
+        bob = users.get(1);
+
+        List<Post> posts = new ArrayList<>();
+        List<Follow> follows = new ArrayList<>();
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = users.get(i);
+            for (int j = 0; j < 10; j++) {
+                Post created = new Post();
+                created.setUser(user);
+                created.setContent("post " + j + " by " + user.getUsername());
+                posts.add(created);
+
+                Message message = new Message();
+                message.setSender(user);
+                message.setReceiver(users.get((i + j + 1) % USERS));
+                message.setContent("message " + j);
+                messages.add(message);
+            }
+            for (int j = 1; j <= 5; j++) {
+                Follow follow = new Follow();
+                follow.setFollower(user);
+                follow.setFollowing(users.get((i + j) % USERS));
+                follows.add(follow);
+            }
+        }
+        posts = postRepo.saveAll(posts);
+        followRepo.saveAll(follows);
+        messageRepo.saveAll(messages);
+        post = posts.get(0);
+
+        List<Like> likes = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < posts.size(); i++) {
+            Post target = posts.get(i);
+            User actor = users.get(i % USERS);
+
+            Like like = new Like();
+            like.setUser(actor);
+            like.setPost(target);
+            likes.add(like);
+
+            Comment created = new Comment();
+            created.setUser(actor);
+            created.setPost(target);
+            created.setContent("comment " + i);
+            comments.add(created);
+
+            Notification notification = new Notification();
+            notification.setUser(target.getUser());
+            notification.setFromUser(actor);
+            notification.setMessage("liked your post");
+            notification.setType(Notification.NotificationType.LIKE);
+            notification.setPost(target);
+            notifications.add(notification);
+        }
+        likeRepo.saveAll(likes);
+        comments = commentRepo.saveAll(comments);
+        notificationRepo.saveAll(notifications);
+        comment = comments.get(0);
+
+        // Refresh H2's selectivity statistics so the planner costs indexes against real row counts
+        new JdbcTemplate(dataSource).execute("ANALYZE");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> hotPathQueriesUseIndexes() {
+        Map<String, Executable> queries = new LinkedHashMap<>();
+
+        queries.put("PostRepo.findByUserAndIsActiveTrueOrderByCreatedAtDesc",
+                () -> postRepo.findByUserAndIsActiveTrueOrderByCreatedAtDesc(alice, PAGE));
+        queries.put("PostRepo.findByUserAndIsActiveTrueAndPrivacyInOrderByCreatedAtDesc",
+                () -> postRepo.findByUserAndIsActiveTrueAndPrivacyInOrderByCreatedAtDesc(
+                        alice, EnumSet.of(Post.PostPrivacy.PUBLIC, Post.PostPrivacy.FRIENDS), PAGE));
+        queries.put("PostRepo.findNewsFeed", () -> postRepo.findNewsFeed(List.of(alice, bob), alice, PAGE));
+        queries.put("PostRepo.findByIsActiveTrueAndPrivacyOrderByCreatedAtDesc",
+                () -> postRepo.findByIsActiveTrueAndPrivacyOrderByCreatedAtDesc(Post.PostPrivacy.PUBLIC, PAGE));
+        queries.put("PostRepo.findByIsActiveTrueAndPrivacyOrderByLikeCountDesc",
+                () -> postRepo.findByIsActiveTrueAndPrivacyOrderByLikeCountDesc(Post.PostPrivacy.PUBLIC, PAGE));
+        queries.put("PostRepo.findActivePostsByUser", () -> postRepo.findActivePostsByUser(alice));
+        queries.put("PostRepo.findVersionById", () -> postRepo.findVersionById(post.getId()));
+        queries.put("PostRepo.findPublicTimelineVersion", () -> postRepo.findPublicTimelineVersion());
+        queries.put("PostRepo.findTimelineVersionByUser", () -> postRepo.findTimelineVersionByUser(alice));
+        queries.put("PostRepo.findNewsTimelineVersion", () -> postRepo.findNewsTimelineVersion(alice.getId()));
+
+        queries.put("UserRepo.findByUsername", () -> userRepo.findByUsername(alice.getUsername()));
+        queries.put("UserRepo.findByEmail", () -> userRepo.findByEmail(alice.getEmail()));
+        queries.put("UserRepo.findVersionById", () -> userRepo.findVersionById(alice.getId()));
+        queries.put("UserRepo.findIdentifiersAfter", () -> userRepo.findIdentifiersAfter(alice.getId(), PAGE));
+
+        queries.put("FollowRepo.findByFollower", () -> followRepo.findByFollower(alice));
+        queries.put("FollowRepo.findByFollowing", () -> followRepo.findByFollowing(alice));
+        queries.put("FollowRepo.existsByFollowerAndFollowing", () -> followRepo.existsByFollowerAndFollowing(alice, bob));
+        queries.put("FollowRepo.countFollowers", () -> followRepo.countFollowers(alice));
+        queries.put("FollowRepo.countFollowing", () -> followRepo.countFollowing(alice));
+        queries.put("FollowRepo.findFollowCounts", () -> followRepo.findFollowCounts(alice.getId()));
+        queries.put("FollowRepo.findFollowingVersion", () -> followRepo.findFollowingVersion(alice.getId()));
+        queries.put("FollowRepo.findFollowedUserIds",
+                () -> followRepo.findFollowedUserIds(alice.getId(), List.of(bob.getId(), post.getUser().getId())));
+
+        queries.put("LikeRepo.existsByUserAndPost", () -> likeRepo.existsByUserAndPost(alice, post));
+        queries.put("LikeRepo.findByPost", () -> likeRepo.findByPost(post));
+        queries.put("LikeRepo.countByPost", () -> likeRepo.countByPost(post));
+        queries.put("LikeRepo.findLikedPostIds",
+                () -> likeRepo.findLikedPostIds(alice.getId(), List.of(post.getId(), comment.getPost().getId())));
+
+        queries.put("CommentRepo.findThreadByPost", () -> commentRepo.findThreadByPost(post));
+        queries.put("CommentRepo.findByPostAndIsActiveTrueOrderByCreatedAtDesc",
+                () -> commentRepo.findByPostAndIsActiveTrueOrderByCreatedAtDesc(post));
+        queries.put("CommentRepo.findByParentCommentAndIsActiveTrueOrderByCreatedAtDesc",
+                () -> commentRepo.findByParentCommentAndIsActiveTrueOrderByCreatedAtDesc(comment));
+        queries.put("CommentRepo.countByPost", () -> commentRepo.countByPost(post));
+
+        queries.put("NotificationRepo.findByUserOrderByCreatedAtDesc",
+                () -> notificationRepo.findByUserOrderByCreatedAtDesc(alice));
+        queries.put("NotificationRepo.findByUserAndIsReadFalseOrderByCreatedAtDesc",
+                () -> notificationRepo.findByUserAndIsReadFalseOrderByCreatedAtDesc(alice));
+        queries.put("NotificationRepo.countUnreadByUser", () -> notificationRepo.countUnreadByUser(alice));
+
+        queries.put("MessageRepo.findConversationBefore", () -> messageRepo.findConversationBefore(
+                Message.conversationKey(alice.getId(), bob.getId()), Long.MAX_VALUE, PAGE));
+        queries.put("MessageRepo.findConversationPartners", () -> messageRepo.findConversationPartners(alice));
+        queries.put("MessageRepo.findConversationPartnerIds",
+                () -> messageRepo.findConversationPartnerIds(alice.getId()));
+        queries.put("MessageRepo.findLatestMessagesInConversations",
+                () -> messageRepo.findLatestMessagesInConversations(alice));
+        queries.put("MessageRepo.countUnreadMessages", () -> messageRepo.countUnreadMessages(alice));
+        queries.put("MessageRepo.findUnreadMessages", () -> messageRepo.findUnreadMessages(alice));
+
+        return queries.entrySet().stream()
+                .map(query -> DynamicTest.dynamicTest(query.getKey(), () -> assertNoFullScan(query.getValue())));
+    }
+
+    private void assertNoFullScan(Executable query) throws Throwable {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        List<RecordedStatement> statements;
+
+        SqlStatementRecorder.start();
+        try {
+            query.execute();
+        } finally {
+            statements = SqlStatementRecorder.stopWithParameters();
+        }
+
+        assertThat(statements).isNotEmpty();
+        for (RecordedStatement statement : statements) {
+            String plan = explain(statement);
+            assertThat(plan.toLowerCase(Locale.ROOT))
+                    .as("Full table scan in plan:%n%s", plan)
+                    .doesNotContain(".tablescan");
+        }
+    }
+
+    private String explain(RecordedStatement statement) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (int i = 0; i < statement.parameters().size(); i++) {
+                explain.setObject(i + 1, statement.parameters().get(i));
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.sunless.app.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void rejectsImmediatelyOnceThePoolAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        waitForQueued(1);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.matches("c", "c")).isInstanceOf(PasswordHashingOverloadedException.class);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("app.password.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterMaxWait() {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(new CountDownLatch(1)), 1, 4, Duration.ofMillis(50), meterRegistry);
+
+        assertThatThrownBy(() -> encoder.matches("a", "a")).isInstanceOf(PasswordHashingOverloadedException.class);
+    }
+
+    @Test
+    void hashesWithTheConfiguredCostAndFlagsWeakerHashesForUpgrade() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 2, 4, Duration.ofSeconds(5), meterRegistry);
+
+        String hash = encoder.encode("secret");
+        assertThat(hash).startsWith("$2a$05$");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch started) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+
+    private void waitForQueued(int expected) throws InterruptedException {
+        for (int i = 0; i < 500 && meterRegistry.get("app.password.queued").gauge().value() < expected; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
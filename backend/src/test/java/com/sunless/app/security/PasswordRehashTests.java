@@ -0,0 +1,39 @@
+package com.sunless.app.security;
+
+import com.sunless.app.mode.User;
+import com.sunless.app.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.password.bcrypt-strength=5")
+@ActiveProfiles("test")
+class PasswordRehashTests {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Test
+    void loginRehashesPasswordsStoredWithAnOlderCost() {
+        User user = new User();
+        user.setUsername("rehash_alice");
+        user.setEmail("rehash_alice@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("secret"));
+        userRepo.save(user);
+
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("rehash_alice", "secret"));
+
+        String rehashed = userRepo.findByUsername("rehash_alice").orElseThrow().getPassword();
+        assertThat(rehashed).startsWith("$2a$05$");
+        assertThat(new BCryptPasswordEncoder().matches("secret", rehashed)).isTrue();
+    }
+}
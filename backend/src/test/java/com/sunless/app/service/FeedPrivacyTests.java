@@ -0,0 +1,145 @@
+package com.sunless.app.service;
+
+import com.sunless.app.dto.PostDTO;
+import com.sunless.app.mode.Post;
+import com.sunless.app.mode.User;
+import com.sunless.app.repo.UserRepo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FeedPrivacyTests {
+
+    @Autowired
+    private FeedService feedService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private User author;
+    private User follower;
+    private User stranger;
+    private Post publicPost;
+    private Post friendsPost;
+
+    @BeforeAll
+    void seed() {
+        author = user("privacy_author");
+        follower = user("privacy_follower");
+        stranger = user("privacy_stranger");
+        followService.followUser(follower.getId(), author.getId());
+
+        publicPost = post(Post.PostPrivacy.PUBLIC);
+        friendsPost = post(Post.PostPrivacy.FRIENDS);
+        post(Post.PostPrivacy.PRIVATE);
+    }
+
+    @Test
+    void newsFeedShowsFriendsPostsToFollowersButNeverPrivateOnes() {
+        assertThat(privacies(feedService.getNewsFeed(follower.getId(), 0, 50)))
+                .containsExactlyInAnyOrder("FRIENDS", "PUBLIC");
+        assertThat(privacies(feedService.getNewsFeed(author.getId(), 0, 50)))
+                .containsExactlyInAnyOrder("PRIVATE", "FRIENDS", "PUBLIC");
+    }
+
+    @Test
+    void profilePageDependsOnTheViewer() {
+        assertThat(privacies(feedService.getPostsByUser(author.getId(), 0, 50, author.getId())))
+                .containsExactlyInAnyOrder("PRIVATE", "FRIENDS", "PUBLIC");
+        assertThat(privacies(feedService.getPostsByUser(author.getId(), 0, 50, follower.getId())))
+                .containsExactlyInAnyOrder("FRIENDS", "PUBLIC");
+        assertThat(privacies(feedService.getPostsByUser(author.getId(), 0, 50, stranger.getId())))
+                .containsExactly("PUBLIC");
+    }
+
+    @Test
+    void profileETagChangesWhenTheViewerSwapsOneFollowForAnother() {
+        User swapper = user("privacy_swapper");
+        User other = user("privacy_other");
+        followService.followUser(swapper.getId(), other.getId());
+        String before = feedService.getPostsByUserETag(author.getId(), 0, 10, swapper.getId());
+
+        // Same follow count, but the author's FRIENDS post is now visible
+        followService.unfollowUser(swapper.getId(), other.getId());
+        followService.followUser(swapper.getId(), author.getId());
+
+        assertThat(feedService.getPostsByUserETag(author.getId(), 0, 10, swapper.getId())).isNotEqualTo(before);
+    }
+
+    @Test
+    void sharedFeedsOnlyListPublicPosts() {
+        assertThat(privacies(feedService.getExploreFeed(0, 50, author.getId()))).containsOnly("PUBLIC");
+        assertThat(feedService.getTrendingPosts(0, 50, author.getId()).getContent())
+                .extracting(PostDTO::getPrivacy)
+                .containsOnly("PUBLIC");
+        assertThat(privacies(feedService.searchPosts("privacy post", 0, 50, author.getId()))).containsExactly("PUBLIC");
+    }
+
+    @Test
+    void singlePostIsHiddenFromViewersWhoMayNotSeeIt() {
+        assertThat(postService.getVisiblePost(friendsPost.getId(), follower.getId())).isNotNull();
+        assertThat(postService.getVisiblePost(friendsPost.getId(), stranger.getId())).isNull();
+    }
+
+    @Test
+    void feedETagsChangeWhenACommenterEditsTheirProfile() {
+        User commenter = user("privacy_commenter");
+        commentService.createComment(commenter.getId(), publicPost.getId(), "nice", null);
+        String explore = feedService.getExploreFeedETag(0, 10, stranger.getId());
+        String profile = feedService.getPostsByUserETag(author.getId(), 0, 10, stranger.getId());
+        String news = feedService.getNewsFeedETag(follower.getId(), 0, 10);
+
+        User renamed = userService.findById(commenter.getId());
+        renamed.setFirstName("Renamed");
+        userService.updateUser(renamed);
+
+        assertThat(feedService.getExploreFeedETag(0, 10, stranger.getId())).isNotEqualTo(explore);
+        assertThat(feedService.getPostsByUserETag(author.getId(), 0, 10, stranger.getId())).isNotEqualTo(profile);
+        assertThat(feedService.getNewsFeedETag(follower.getId(), 0, 10)).isNotEqualTo(news);
+    }
+
+    private List<String> privacies(Page<PostDTO> page) {
+        return page.getContent().stream()
+                .filter(post -> post.getAuthor().getId().equals(author.getId()))
+                .map(PostDTO::getPrivacy)
+                .toList();
+    }
+
+    private Post post(Post.PostPrivacy privacy) {
+        Post post = new Post();
+        post.setContent("privacy post " + privacy);
+        post.setPrivacy(privacy);
+        return postService.createPost(author.getId(), post);
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        return userRepo.save(user);
+    }
+}
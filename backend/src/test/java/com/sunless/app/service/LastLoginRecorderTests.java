@@ -0,0 +1,49 @@
+package com.sunless.app.service;
+
+import com.sunless.app.mode.User;
+import com.sunless.app.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LastLoginRecorderTests {
+
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Test
+    void flushWritesOnlyTheLatestTimestampAndLeavesUpdatedAtAlone() {
+        User user = new User();
+        user.setUsername("login_alice");
+        user.setEmail("login_alice@example.com");
+        user.setPassword("secret");
+        user = userRepo.save(user);
+        LocalDateTime updatedAt = userRepo.findById(user.getId()).orElseThrow().getUpdatedAt();
+
+        LocalDateTime first = LocalDateTime.of(2026, 1, 1, 9, 0);
+        LocalDateTime latest = first.plusHours(1);
+        lastLoginRecorder.record(user.getId(), latest);
+        lastLoginRecorder.record(user.getId(), first);
+        lastLoginRecorder.flush();
+
+        // A second node flushing an older login afterwards must not win
+        lastLoginRecorder.record(user.getId(), first);
+        lastLoginRecorder.flush();
+
+        User reloaded = userRepo.findById(user.getId()).orElseThrow();
+        assertThat(reloaded.getLastLoginAt()).isEqualTo(latest);
+        assertThat(reloaded.getUpdatedAt().truncatedTo(ChronoUnit.MILLIS))
+                .isEqualTo(updatedAt.truncatedTo(ChronoUnit.MILLIS));
+    }
+}
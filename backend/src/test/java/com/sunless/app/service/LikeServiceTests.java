@@ -0,0 +1,138 @@
+package com.sunless.app.service;
+
+import com.sunless.app.mode.Post;
+import com.sunless.app.mode.User;
+import com.sunless.app.repo.LikeRepo;
+import com.sunless.app.repo.PostRepo;
+import com.sunless.app.repo.UserRepo;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LikeServiceTests {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PostRepo postRepo;
+
+    @Autowired
+    private LikeRepo likeRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User author;
+    private User fan;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        author = user();
+        fan = user();
+        post = new Post();
+        post.setUser(author);
+        post.setContent("like me");
+        post = postRepo.save(post);
+    }
+
+    @Test
+    void likeAndUnlikeAreIdempotent() {
+        assertThat(likeService.likePost(fan.getId(), post.getId())).isTrue();
+        assertThat(likeService.likePost(fan.getId(), post.getId())).isFalse();
+        assertThat(likeCount()).isEqualTo(1);
+
+        assertThat(likeService.unlikePost(fan.getId(), post.getId())).isTrue();
+        assertThat(likeService.unlikePost(fan.getId(), post.getId())).isFalse();
+        assertThat(likeCount()).isZero();
+        assertThat(postRepo.findVersionById(post.getId()).orElseThrow().getUpdatedAt())
+                .isAfter(post.getUpdatedAt());
+    }
+
+    @Test
+    void likingAPostKeepsOtherPostsCached() {
+        Post other = new Post();
+        other.setUser(author);
+        other.setContent("cached");
+        other = postRepo.save(other);
+        postRepo.findById(other.getId());
+        postRepo.findById(post.getId());
+        assertThat(entityManagerFactory.getCache().contains(Post.class, other.getId())).isTrue();
+
+        likeService.likePost(fan.getId(), post.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Post.class, other.getId())).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Post.class, post.getId())).isFalse();
+    }
+
+    @Test
+    void missingPostIsReported() {
+        assertThatThrownBy(() -> likeService.likePost(fan.getId(), -1L)).hasMessage("User or post not found");
+        assertThatThrownBy(() -> likeService.unlikePost(fan.getId(), -1L)).hasMessage("User or post not found");
+    }
+
+    @Test
+    void missingUserIsReported() {
+        assertThatThrownBy(() -> likeService.likePost(-1L, post.getId())).hasMessage("User or post not found");
+    }
+
+    @Test
+    void concurrentLikesKeepTheCounterExact() {
+        List<User> fans = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            fans.add(user());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Boolean>> attempts = new ArrayList<>();
+            // Every fan likes the post three times at once; only the first of each may count
+            for (int round = 0; round < 3; round++) {
+                for (User user : fans) {
+                    attempts.add(CompletableFuture.supplyAsync(() -> likeService.likePost(user.getId(), post.getId()), executor));
+                }
+            }
+            long accepted = attempts.stream().map(CompletableFuture::join).filter(Boolean::booleanValue).count();
+
+            assertThat(accepted).isEqualTo(fans.size());
+            assertThat(likeCount()).isEqualTo(fans.size());
+            assertThat(likeRepo.countByPost(post)).isEqualTo(fans.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int likeCount() {
+        return postRepo.findVersionById(post.getId()).orElseThrow().getLikeCount();
+    }
+
+    private User user() {
+        int n = SEQUENCE.incrementAndGet();
+        User user = new User();
+        user.setUsername("like_user" + n);
+        user.setEmail("like_user" + n + "@example.com");
+        user.setPassword("password");
+        return userRepo.save(user);
+    }
+}
@@ -0,0 +1,100 @@
+package com.sunless.app.service;
+
+import com.sunless.app.dto.CursorPage;
+import com.sunless.app.dto.PresenceDTO;
+import com.sunless.app.mode.Message;
+import com.sunless.app.mode.User;
+import com.sunless.app.presence.PresenceTracker;
+import com.sunless.app.repo.UserRepo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MessageServiceTests {
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PresenceTracker presenceTracker;
+
+    private User alice;
+    private User bob;
+    private User carol;
+
+    @BeforeAll
+    void seed() {
+        alice = user("msg_alice");
+        bob = user("msg_bob");
+        carol = user("msg_carol");
+        for (int i = 0; i < 5; i++) {
+            // Alternate directions: both must land in the same conversation
+            if (i % 2 == 0) {
+                messageService.sendMessage(alice.getId(), bob.getId(), "m" + i);
+            } else {
+                messageService.sendMessage(bob.getId(), alice.getId(), "m" + i);
+            }
+        }
+        messageService.sendMessage(carol.getId(), alice.getId(), "hi alice");
+    }
+
+    @Test
+    void conversationPagesBackwardsFromTheNewestMessage() {
+        CursorPage<Message> latest = messageService.getMessagesBetweenUsers(bob.getId(), alice.getId(), null, 2);
+        assertThat(contents(latest)).containsExactly("m3", "m4");
+        assertThat(latest.hasMore()).isTrue();
+
+        CursorPage<Message> older = messageService.getMessagesBetweenUsers(alice.getId(), bob.getId(), latest.nextCursor(), 2);
+        assertThat(contents(older)).containsExactly("m1", "m2");
+
+        CursorPage<Message> oldest = messageService.getMessagesBetweenUsers(alice.getId(), bob.getId(), older.nextCursor(), 2);
+        assertThat(contents(oldest)).containsExactly("m0");
+        assertThat(oldest.hasMore()).isFalse();
+        assertThat(oldest.nextCursor()).isNull();
+    }
+
+    @Test
+    void conversationsListTheLatestMessageWithEachPartner() {
+        assertThat(messageService.getConversationPartners(alice.getId()))
+                .extracting(User::getUsername)
+                .containsExactlyInAnyOrder("msg_bob", "msg_carol");
+        assertThat(messageService.getLatestMessagesInConversations(alice.getId()))
+                .extracting(Message::getContent)
+                .containsExactly("hi alice", "m4");
+    }
+
+    @Test
+    void partnerPresenceComesFromTheTracker() {
+        presenceTracker.touch(bob.getId());
+
+        assertThat(messageService.getConversationPartnerPresence(alice.getId()))
+                .extracting(PresenceDTO::userId, PresenceDTO::online)
+                .containsExactlyInAnyOrder(tuple(bob.getId(), true), tuple(carol.getId(), false));
+    }
+
+    private List<String> contents(CursorPage<Message> page) {
+        return page.content().stream().map(Message::getContent).toList();
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        return userRepo.save(user);
+    }
+}
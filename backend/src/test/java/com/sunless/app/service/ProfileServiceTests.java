@@ -0,0 +1,114 @@
+package com.sunless.app.service;
+
+import com.sunless.app.mode.Post;
+import com.sunless.app.mode.User;
+import com.sunless.app.repo.UserRepo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest(properties = "app.profile.timeout=PT1S")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProfileServiceTests {
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @MockitoSpyBean
+    private FeedService feedService;
+
+    private User owner;
+    private User viewer;
+
+    @BeforeAll
+    void seed() {
+        owner = user("profile_owner");
+        viewer = user("profile_viewer");
+        for (int i = 0; i < 3; i++) {
+            Post post = new Post();
+            post.setContent("profile post " + i);
+            postService.createPost(owner.getId(), post);
+        }
+        followService.followUser(viewer.getId(), owner.getId());
+    }
+
+    @Test
+    void profileCombinesUserFollowStateCountsAndPosts() throws Exception {
+        ProfileService.Profile profile = profileService.getProfile(owner.getId(), viewer.getId(), 0, 2);
+
+        assertThat(profile.user().getUsername()).isEqualTo("profile_owner");
+        assertThat(profile.isFollowing()).isTrue();
+        assertThat(profile.followerCount()).isEqualTo(1);
+        assertThat(profile.followingCount()).isZero();
+        assertThat(profile.posts().getContent()).hasSize(2);
+        assertThat(profile.posts().getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void ownProfileHasNoFollowState() throws Exception {
+        assertThat(profileService.getProfile(owner.getId(), owner.getId(), 0, 2).isFollowing()).isNull();
+    }
+
+    @Test
+    void missingUserIsNotFound() throws Exception {
+        assertThat(profileService.getProfile(Long.MAX_VALUE, viewer.getId(), 0, 2)).isNull();
+    }
+
+    @Test
+    void partsStillRunningAtTheDeadlineAreInterrupted() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+            return null;
+        }).when(feedService).getPostsByUser(eq(owner.getId()), anyInt(), anyInt(), any());
+
+        try {
+            assertThatThrownBy(() -> profileService.getProfile(owner.getId(), viewer.getId(), 0, 2))
+                    .isInstanceOf(TimeoutException.class);
+            assertThat(started.await(0, TimeUnit.SECONDS)).isTrue();
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            reset(feedService);
+        }
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        return userRepo.save(user);
+    }
+}
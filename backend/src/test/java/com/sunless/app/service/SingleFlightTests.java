@@ -0,0 +1,76 @@
+package com.sunless.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SingleFlightTests {
+
+    private static final int CALLERS = 16;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Test
+    void concurrentIdenticalCallsShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<CompletableFuture<Object>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> singleFlight.execute("test.load", List.of(1L), () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return new Object();
+                }), executor));
+            }
+            // Let every caller reach the in-flight call before the leader finishes
+            Thread.sleep(200);
+            release.countDown();
+
+            Object first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (CompletableFuture<Object> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Completed calls are not cached
+        assertThat(singleFlight.execute("test.load", List.of(1L), () -> "fresh")).isEqualTo("fresh");
+        assertThat(singleFlight.execute("test.load", List.of(2L), () -> "other key")).isEqualTo("other key");
+    }
+
+    @Test
+    void failuresAreRethrownAndNotRemembered() {
+        assertThatThrownBy(() -> singleFlight.execute("test.fail", List.of(), () -> {
+            throw new RuntimeException("Post not found");
+        })).hasMessage("Post not found");
+        assertThat(singleFlight.execute("test.fail", List.of(), () -> "recovered")).isEqualTo("recovered");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.sunless.app.storage;
+
+import com.sunless.app.config.StorageConfig;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The round-trip tests run against an S3-compatible server and are skipped when none is reachable. Start one with
+ * {@code docker run -p 9000:9000 minio/minio server /data}, or point {@code -Ds3.test.endpoint} elsewhere.
+ */
+class S3StorageBackendTests {
+
+    private static final String ENDPOINT = System.getProperty("s3.test.endpoint", "http://localhost:9000");
+    private static final String ACCESS_KEY = System.getProperty("s3.test.access-key", "minioadmin");
+    private static final String SECRET_KEY = System.getProperty("s3.test.secret-key", "minioadmin");
+    private static final String BUCKET = "storage-backend-tests";
+
+    private final StorageBackend backend = new StorageConfig().s3StorageBackend(
+            ENDPOINT, "us-east-1", BUCKET, ACCESS_KEY, SECRET_KEY, true, "");
+
+    @Test
+    void presignedUploadIsBoundToTheContentLength() {
+        StorageBackend.PresignedUpload upload = backend.presignUpload(
+                "post-images/a.png", "image/png", 1234, Duration.ofMinutes(5)).orElseThrow();
+
+        assertThat(upload.method()).isEqualTo("PUT");
+        assertThat(upload.uploadUrl()).contains("X-Amz-SignedHeaders=content-length%3Bcontent-type%3Bhost");
+    }
+
+    @Test
+    void storesListsAndDeletesObjects() throws IOException {
+        createBucket();
+        byte[] content = "hello".getBytes(StandardCharsets.UTF_8);
+
+        backend.store("post-images/stored.png", new ByteArrayInputStream(content), content.length, "image/png");
+        assertThat(backend.list()).extracting(StorageBackend.StoredObject::key).contains("post-images/stored.png");
+
+        backend.delete("post-images/stored.png");
+        assertThat(backend.list()).extracting(StorageBackend.StoredObject::key).doesNotContain("post-images/stored.png");
+    }
+
+    @Test
+    void presignedUploadAcceptsOnlyTheSignedSize() throws Exception {
+        createBucket();
+        byte[] content = "exactly this".getBytes(StandardCharsets.UTF_8);
+        String url = backend.presignUpload("post-images/direct.png", "image/png", content.length, Duration.ofMinutes(5))
+                .orElseThrow().uploadUrl();
+
+        assertThat(put(url, new byte[content.length * 100])).isEqualTo(403);
+        assertThat(put(url, content)).isEqualTo(200);
+        assertThat(backend.list()).extracting(StorageBackend.StoredObject::key).contains("post-images/direct.png");
+        backend.delete("post-images/direct.png");
+    }
+
+    private static int put(String url, byte[] body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "image/png")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static void createBucket() {
+        URI endpoint = URI.create(ENDPOINT);
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(endpoint.getHost(), endpoint.getPort()), 500);
+        } catch (IOException ex) {
+            assumeTrue(false, "No S3-compatible server at " + ENDPOINT);
+        }
+
+        try (S3Client client = S3Client.builder()
+                .endpointOverride(endpoint)
+                .region(Region.US_EAST_1)
+                .forcePathStyle(true)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY)))
+                .build()) {
+            client.createBucket(builder -> builder.bucket(BUCKET));
+        } catch (BucketAlreadyOwnedByYouException ignored) {
+            // Left over from an earlier run
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.sunless.app.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test if its body (after {@code @BeforeEach} setup) issues more than {@link #max()} SQL statements
+ * on the test thread.
+ * Requires {@link SqlStatementRecorder.Config} in the test context.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    int max();
+
+    // Also count statements issued on other threads, for work the test body hands off
+    boolean allThreads() default false;
+}
@@ -0,0 +1,33 @@
+package com.sunless.app.support;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.List;
+
+class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        boolean allThreads = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .map(QueryBudget::allThreads)
+                .orElse(false);
+        if (allThreads) {
+            SqlStatementRecorder.startAllThreads();
+        } else {
+            SqlStatementRecorder.start();
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        List<String> statements = SqlStatementRecorder.stop();
+        // Don't mask the test's own failure with a budget failure
+        if (context.getExecutionException().isEmpty()) {
+            AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                    .ifPresent(budget -> SqlStatementRecorder.verify(budget.max(), statements));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.sunless.app.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Records the SQL statements the application sends through its DataSource while recording is on. Only
+ * statements issued on the thread that started recording count, so scheduled jobs and other background work
+ * never leak into a test's numbers; {@link #startAllThreads} opts in to counting every thread.
+ * Import {@link Config} into a Spring test, then use {@link #assertAtMost} or {@link QueryBudget}.
+ */
+public final class SqlStatementRecorder implements QueryExecutionListener {
+
+    private static final List<RecordedStatement> STATEMENTS = new ArrayList<>();
+    private static volatile boolean recording;
+    // Null while recording every thread
+    private static volatile Thread recordingThread;
+
+    /**
+     * A statement as sent to the driver, with its bind values in parameter order.
+     */
+    public record RecordedStatement(String sql, List<Object> parameters) {
+    }
+
+    public static void start() {
+        start(Thread.currentThread());
+    }
+
+    // For code under test that does its queries on other threads
+    public static void startAllThreads() {
+        start(null);
+    }
+
+    private static void start(Thread thread) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+        recordingThread = thread;
+        recording = true;
+    }
+
+    public static List<String> stop() {
+        return stopWithParameters().stream().map(RecordedStatement::sql).toList();
+    }
+
+    public static List<RecordedStatement> stopWithParameters() {
+        recording = false;
+        synchronized (STATEMENTS) {
+            return List.copyOf(STATEMENTS);
+        }
+    }
+
+    /**
+     * Runs {@code action} and fails if it issued more than {@code max} statements, listing what ran.
+     */
+    public static void assertAtMost(int max, Executable action) throws Throwable {
+        start();
+        try {
+            action.execute();
+        } finally {
+            verify(max, stop());
+        }
+    }
+
+    static void verify(int max, List<String> statements) {
+        if (statements.size() > max) {
+            fail("Expected at most " + max + " SQL statements but " + statements.size() + " were executed:\n  "
+                    + String.join("\n  ", statements));
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Thread thread = recordingThread;
+        if (!recording || thread != null && thread != Thread.currentThread()) {
+            return;
+        }
+        synchronized (STATEMENTS) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                STATEMENTS.add(new RecordedStatement(queryInfo.getQuery(), parameters(queryInfo)));
+            }
+        }
+    }
+
+    private static List<Object> parameters(QueryInfo queryInfo) {
+        if (queryInfo.getParametersList().isEmpty()) {
+            return List.of();
+        }
+        // For a batch only the first row's values are kept
+        List<ParameterSetOperation> operations = new ArrayList<>(queryInfo.getParametersList().get(0));
+        operations.sort(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]));
+        List<Object> values = new ArrayList<>(operations.size());
+        for (ParameterSetOperation operation : operations) {
+            values.add(ParameterSetOperation.isSetNullParameterOperation(operation) ? null : operation.getArgs()[1]);
+        }
+        return values;
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        @Bean
+        public static BeanPostProcessor sqlStatementRecordingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .listener(new SqlStatementRecorder())
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -19,27 +19,33 @@ const Post: React.FC<PostProps> = ({ post, onUserClick }) => {
   const queryClient = useQueryClient();
   const navigate = useNavigate();
   const [showComments, setShowComments] = useState(false);
-  const [isLiked, setIsLiked] = useState(false);
+  const [isLiked, setIsLiked] = useState(post.likedByViewer ?? false);
   const [likeCount, setLikeCount] = useState(post.likeCount);
   const [showMenu, setShowMenu] = useState(false);
   const [isEditing, setIsEditing] = useState(false);
   const [editContent, setEditContent] = useState(post.content);
   const menuRef = useRef<HTMLDivElement>(null);
 
-  // Get initial like status
-  const { data: likeStatus } = useQuery({
+  // Follow the post as refetched feeds hand in newer copies
+  useEffect(() => {
+    if (post.likedByViewer !== undefined) {
+      setIsLiked(post.likedByViewer);
+    }
+    setLikeCount(post.likeCount);
+  }, [post.likedByViewer, post.likeCount]);
+
+  // Only for posts that came without likedByViewer; lookups are batched across posts
+  const { data: likedStatus } = useQuery({
     queryKey: ['likeStatus', post.id],
-    queryFn: () => apiService.getLikeStatus(post.id),
-    enabled: !!user, // Only run if user is authenticated
+    queryFn: () => apiService.isPostLiked(post.id),
+    enabled: !!user && post.likedByViewer === undefined,
   });
 
-  // Update local state when like status is fetched
   useEffect(() => {
-    if (likeStatus) {
-      setIsLiked(likeStatus.isLiked);
-      setLikeCount(likeStatus.likeCount);
+    if (likedStatus !== undefined) {
+      setIsLiked(likedStatus);
     }
-  }, [likeStatus]);
+  }, [likedStatus]);
 
   // Close menu when clicking outside
   useEffect(() => {
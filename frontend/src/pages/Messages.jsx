@@ -25,7 +25,7 @@ const Messages: React.FC = () => {
   // Get conversation with selected user
   const { data: conversation, isLoading: conversationLoading } = useQuery<{ content: Message[] }>({
     queryKey: ['conversation', selectedUser?.id],
-    queryFn: () => apiService.getConversation(selectedUser!.id, 0, 50),
+    queryFn: () => apiService.getConversation(selectedUser!.id, undefined, 50),
     enabled: !!selectedUser,
   });
 
@@ -22,31 +22,23 @@ const UserProfile: React.FC = () => {
   const [followerCount, setFollowerCount] = useState(0);
   const [followingCount, setFollowingCount] = useState(0);
 
-  const { data: user, isLoading: userLoading } = useQuery({
-    queryKey: ['user', userId],
-    queryFn: () => apiService.getUserById(Number(userId)),
-    enabled: !!userId,
-  });
-
-  const { data: followStatus } = useQuery({
-    queryKey: ['followStatus', userId],
-    queryFn: () => apiService.getFollowStatus(Number(userId)),
-    enabled: !!userId && !!currentUser,
-  });
-
-  const { data: userPosts = [], isLoading: postsLoading } = useQuery({
-    queryKey: ['userPosts', userId],
-    queryFn: () => apiService.getPostsByUser(Number(userId), 0, 20),
+  // User, follow state, counts and posts (with their liked flags) in one request
+  const { data: profile, isLoading: userLoading } = useQuery({
+    queryKey: ['profile', userId],
+    queryFn: () => apiService.getProfile(Number(userId), 0, 20),
     enabled: !!userId,
   });
+  const user = profile?.user;
+  const userPosts = profile?.posts ?? [];
+  const postsLoading = userLoading;
 
   useEffect(() => {
-    if (followStatus) {
-      setIsFollowing(followStatus.isFollowing);
-      setFollowerCount(followStatus.followerCount);
-      setFollowingCount(followStatus.followingCount);
+    if (profile) {
+      setIsFollowing(profile.isFollowing ?? false);
+      setFollowerCount(profile.followerCount);
+      setFollowingCount(profile.followingCount);
     }
-  }, [followStatus]);
+  }, [profile]);
 
 
   const followMutation = useMutation({
@@ -54,7 +46,7 @@ const UserProfile: React.FC = () => {
     onSuccess: () => {
       setIsFollowing(true);
       setFollowerCount(prev => prev + 1);
-      queryClient.invalidateQueries({ queryKey: ['followStatus', userId] });
+      queryClient.invalidateQueries({ queryKey: ['profile', userId] });
       toast.success(`Started following ${user?.username}!`);
     },
     onError: () => {
@@ -67,7 +59,7 @@ const UserProfile: React.FC = () => {
     onSuccess: () => {
       setIsFollowing(false);
       setFollowerCount(prev => prev - 1);
-      queryClient.invalidateQueries({ queryKey: ['followStatus', userId] });
+      queryClient.invalidateQueries({ queryKey: ['profile', userId] });
       toast.success(`Unfollowed ${user?.username}`);
     },
     onError: () => {
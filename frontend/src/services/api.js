@@ -11,11 +11,28 @@ import type {
   LoginRequest, 
   RegisterRequest,
   ApiResponse,
-  PaginatedResponse
+  PaginatedResponse,
+  Profile
 } from '../types';
 
+// Message lists send each user once in `participants`; put sender/receiver back on every message
+function withParticipants(data: any): Message[] {
+  const participants = data?.participants || {};
+  return (data?.content || []).map((message: any) => ({
+    ...message,
+    sender: participants[message.senderId],
+    receiver: participants[message.receiverId],
+  }));
+}
+
+// The backend's app.viewer-state.max-ids
+const LIKE_STATUS_BATCH = 100;
+
 class ApiService {
   private api: AxiosInstance;
+  private directUploads = true;
+  private pendingLikeIds = new Set<number>();
+  private pendingLikeStatuses: Promise<Record<number, boolean>> | null = null;
 
   constructor() {
     this.api = axios.create({
@@ -161,12 +178,31 @@ class ApiService {
     return response.data.data!;
   }
 
-  async getLikeStatus(postId: number): Promise<{ isLiked: boolean; likeCount: number }> {
-    const response: AxiosResponse<ApiResponse<{ isLiked: boolean; likeCount: number }>> = 
-      await this.api.get(`/like/post/${postId}/status`);
+  async getLikeStatuses(postIds: number[]): Promise<Record<number, boolean>> {
+    const response: AxiosResponse<ApiResponse<Record<number, boolean>>> =
+      await this.api.get(`/like/status?postIds=${postIds.join(',')}`);
     return response.data.data!;
   }
 
+  // Feed posts arrive with likedByViewer set. For the others, lookups made in the same tick
+  // are sent together as one /like/status call.
+  isPostLiked(postId: number): Promise<boolean> {
+    this.pendingLikeIds.add(postId);
+    if (!this.pendingLikeStatuses) {
+      this.pendingLikeStatuses = new Promise((resolve) => setTimeout(resolve, 0)).then(() => {
+        const ids = [...this.pendingLikeIds];
+        this.pendingLikeIds.clear();
+        this.pendingLikeStatuses = null;
+        const chunks = [];
+        for (let i = 0; i < ids.length; i += LIKE_STATUS_BATCH) {
+          chunks.push(this.getLikeStatuses(ids.slice(i, i + LIKE_STATUS_BATCH)));
+        }
+        return Promise.all(chunks).then((results) => Object.assign({}, ...results));
+      });
+    }
+    return this.pendingLikeStatuses.then((statuses) => statuses[postId] ?? false);
+  }
+
   // Comment endpoints
   async createComment(postId: number, content: string, parentCommentId?: number): Promise<Comment> {
     const response: AxiosResponse<ApiResponse<Comment>> = await this.api.post(`/comment/post/${postId}`, {
@@ -216,17 +252,17 @@ class ApiService {
     return response.data.data!;
   }
 
-  async getFollowStatus(userId: number): Promise<{ 
-    isFollowing: boolean; 
-    followerCount: number; 
-    followingCount: number 
-  }> {
-    const response: AxiosResponse<ApiResponse<{ 
-      isFollowing: boolean; 
-      followerCount: number; 
-      followingCount: number 
-    }>> = await this.api.get(`/follow/${userId}/status`);
-    return response.data.data!;
+  // The whole profile page (user, follow state and counts, first page of posts) in one request
+  async getProfile(userId: number, page: number = 0, size: number = 10): Promise<Profile> {
+    const response: AxiosResponse<ApiResponse<any>> = await this.api.get(`/profile/${userId}?page=${page}&size=${size}`);
+    const profile = response.data.data!;
+    return {
+      user: profile.user,
+      isFollowing: profile.isFollowing,
+      followerCount: profile.followerCount,
+      followingCount: profile.followingCount,
+      posts: (profile.posts?.content || []).map((p: any) => this.mapPost(p)),
+    };
   }
 
   // Feed endpoints
@@ -361,7 +397,34 @@ class ApiService {
     return response.data.data;
   }
 
+  // Sends the image straight to object storage when the backend can presign an upload,
+  // otherwise (local storage answers 501) through the multipart endpoint
   async uploadPostImage(file: File): Promise<{ fileUrl: string }> {
+    if (this.directUploads) {
+      try {
+        const response: AxiosResponse<any> =
+          await this.api.post('/upload/post-image/presign', {
+            fileName: file.name,
+            contentType: file.type,
+            size: String(file.size),
+          });
+        const upload = response.data.data;
+        // Not through this.api: the signed URL must not carry our Authorization header
+        await axios.request({
+          method: upload.method,
+          url: upload.uploadUrl,
+          data: file,
+          headers: { 'Content-Type': file.type },
+        });
+        return { fileUrl: upload.fileUrl };
+      } catch (error: any) {
+        if (error.response?.status !== 501) {
+          throw error;
+        }
+        this.directUploads = false;
+      }
+    }
+
     const formData = new FormData();
     formData.append('file', file);
     
@@ -381,31 +444,33 @@ class ApiService {
     return response.data.data!;
   }
 
-  async getConversation(userId: number, page: number = 0, size: number = 20): Promise<PaginatedResponse<Message>> {
+  // Pages backwards from the newest message; pass the previous page's nextCursor as `before`
+  async getConversation(userId: number, before?: number, size: number = 20): Promise<{ content: Message[]; nextCursor: number | null; hasMore: boolean }> {
+    const params = new URLSearchParams({ size: String(size) });
+    if (before != null) {
+      params.set('before', String(before));
+    }
     const response: AxiosResponse<any> = 
-      await this.api.get(`/messages/conversation/${userId}?page=${page}&size=${size}`);
+      await this.api.get(`/messages/conversation/${userId}?${params}`);
     
     if (response.data.success === false) {
       throw new Error(response.data.error || 'Failed to fetch conversation');
     }
     
-    // The backend returns Page<Message> directly in data field
+    // data is { content (oldest first), participants, nextCursor, hasMore }
     const pageData = response.data.data;
     
     return {
-      content: pageData.content || [],
-      currentPage: pageData.number || 0,
-      totalPages: pageData.totalPages || 0,
-      totalElements: pageData.totalElements || 0,
-      hasNext: pageData.hasNext || false,
-      hasPrevious: pageData.hasPrevious || false,
+      content: withParticipants(pageData),
+      nextCursor: pageData.nextCursor ?? null,
+      hasMore: pageData.hasMore || false,
     };
   }
 
   async getConversations(): Promise<Message[]> {
-    const response: AxiosResponse<ApiResponse<Message[]>> = 
+    const response: AxiosResponse<any> = 
       await this.api.get('/messages/conversations');
-    return response.data.data!;
+    return withParticipants(response.data.data);
   }
 
   async getUnreadMessageCount(): Promise<{ unreadCount: number }> {
@@ -415,9 +480,9 @@ class ApiService {
   }
 
   async getUnreadMessages(): Promise<Message[]> {
-    const response: AxiosResponse<ApiResponse<Message[]>> = 
+    const response: AxiosResponse<any> = 
       await this.api.get('/messages/unread');
-    return response.data.data!;
+    return withParticipants(response.data.data);
   }
 
   async markMessagesAsRead(userId: number): Promise<boolean> {
@@ -452,6 +517,8 @@ class ApiService {
       commentCount: raw.commentCount ?? 0,
       shareCount: raw.shareCount ?? 0,
       isActive: raw.isActive ?? raw.active ?? true,
+      likedByViewer: raw.likedByViewer,
+      authorFollowedByViewer: raw.authorFollowedByViewer,
     } as Post;
   }
 }
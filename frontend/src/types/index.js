@@ -26,6 +26,18 @@ export interface Post {
   commentCount: number;
   shareCount: number;
   isActive: boolean;
+  // Set on feed and profile posts; absent where the backend did not compute them
+  likedByViewer?: boolean;
+  authorFollowedByViewer?: boolean;
+}
+
+export interface Profile {
+  user: User;
+  // Absent on the viewer's own profile
+  isFollowing?: boolean;
+  followerCount: number;
+  followingCount: number;
+  posts: Post[];
 }
 
 export interface Comment {